@@ -0,0 +1,27 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the DrawerPaneFx benchmarks with the GC profiler, so that allocation
+ * rates (gc.alloc.rate.norm - bytes per operation) are reported alongside
+ * the timings. Accepts the standard JMH command line options - e.g. a
+ * benchmark name regex, or -rf json -rff results.json to save the results.
+ */
+public final class BenchmarkRunner {
+   private BenchmarkRunner() {
+   }
+
+   public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+      final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+      new Runner(new OptionsBuilder()
+         .parent(commandLineOptions)
+         .addProfiler(GCProfiler.class)
+         .build()).run();
+   }
+}
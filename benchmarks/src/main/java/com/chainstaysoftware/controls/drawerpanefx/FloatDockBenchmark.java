@@ -0,0 +1,76 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of floating an open drawer within its own window, then docking
+ * it again. Floating windows require a showing owner window, so the round
+ * trip is run on the JavaFx application thread - a batch of round trips per
+ * hand off to it, so that the hand off's time and allocations are spread
+ * across the batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloatDockBenchmark {
+   // Round trips run per hand off to the JavaFx application thread.
+   private static final int BATCH_SIZE = 20;
+
+   private Stage stage;
+   private DrawerPane drawerPane;
+   private DrawerNode node;
+
+   @Setup
+   public void setUp() {
+      FxToolkit.start();
+      FxToolkit.run(() -> {
+         drawerPane = new DrawerPane();
+         node = new DrawerNode(new Label("Floating"), "Floating");
+         drawerPane.addLeft(node);
+
+         final Scene scene = new Scene(drawerPane, 800, 600);
+         drawerPane.initDefaultStyleSheet(scene);
+         stage = new Stage();
+         stage.setScene(scene);
+         stage.show();
+      });
+   }
+
+   @TearDown
+   public void tearDown() {
+      FxToolkit.run(() -> {
+         drawerPane.remove(node);
+         stage.hide();
+      });
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(BATCH_SIZE)
+   public void floatDockRoundTrip() {
+      FxToolkit.run(() -> {
+         for (int i = 0; i < BATCH_SIZE; i++) {
+            drawerPane.batch(editor -> editor.setFloating(node, true));
+            drawerPane.batch(editor -> editor.setFloating(node, false));
+         }
+      });
+   }
+}
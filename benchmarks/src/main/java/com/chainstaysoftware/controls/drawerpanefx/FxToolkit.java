@@ -0,0 +1,92 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import com.sun.javafx.application.PlatformImpl;
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Starts the headless (Monocle) JavaFx toolkit for the benchmarks, and
+ * runs code on the JavaFx application thread.
+ */
+final class FxToolkit {
+   private static boolean started = false;
+
+   private FxToolkit() {
+   }
+
+   /**
+    * Start the headless JavaFx toolkit - if not already started.
+    */
+   static synchronized void start() {
+      if (started) {
+         return;
+      }
+
+      System.setProperty("glass.platform", "Monocle");
+      System.setProperty("monocle.platform", "Headless");
+      System.setProperty("prism.order", "sw");
+
+      final CountDownLatch latch = new CountDownLatch(1);
+      PlatformImpl.startup(latch::countDown);
+      await(latch);
+      Platform.setImplicitExit(false);
+      started = true;
+   }
+
+   /**
+    * Run the passed in {@link Runnable} on the JavaFx application thread,
+    * and wait for it to complete.
+    */
+   static void run(final Runnable runnable) {
+      call(() -> {
+         runnable.run();
+         return null;
+      });
+   }
+
+   /**
+    * Call the passed in {@link Callable} on the JavaFx application thread,
+    * and wait for its result.
+    */
+   static <T> T call(final Callable<T> callable) {
+      if (Platform.isFxApplicationThread()) {
+         try {
+            return callable.call();
+         } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+         }
+      }
+
+      final AtomicReference<T> result = new AtomicReference<>();
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      final CountDownLatch latch = new CountDownLatch(1);
+      Platform.runLater(() -> {
+         try {
+            result.set(callable.call());
+         } catch (Throwable ex) {
+            error.set(ex);
+         } finally {
+            latch.countDown();
+         }
+      });
+      await(latch);
+
+      if (error.get() != null) {
+         throw new IllegalStateException(error.get());
+      }
+
+      return result.get();
+   }
+
+   private static void await(final CountDownLatch latch) {
+      try {
+         latch.await();
+      } catch (InterruptedException ex) {
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException(ex);
+      }
+   }
+}
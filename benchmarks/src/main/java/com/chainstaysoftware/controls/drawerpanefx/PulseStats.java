@@ -0,0 +1,61 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.Arrays;
+
+/**
+ * Durations (in nanoseconds) recorded for one phase of each emulated
+ * pulse, with percentile summaries.
+ */
+class PulseStats {
+   static final double[] PERCENTILES = {50, 90, 95, 99};
+
+   private final long[] durations;
+   private int count = 0;
+
+   PulseStats(final int capacity) {
+      durations = new long[capacity];
+   }
+
+   void record(final long nanos) {
+      durations[count++] = nanos;
+   }
+
+   int getCount() {
+      return count;
+   }
+
+   /**
+    * Percentile (0 - 100) of the recorded durations, in milliseconds.
+    * Nearest rank.
+    */
+   double percentileMillis(final double percentile) {
+      if (count == 0) {
+         return 0;
+      }
+
+      final long[] sorted = Arrays.copyOf(durations, count);
+      Arrays.sort(sorted);
+      final int rank = (int)Math.ceil(percentile / 100.0 * count);
+      return toMillis(sorted[Math.max(0, Math.min(count - 1, rank - 1))]);
+   }
+
+   double meanMillis() {
+      long total = 0;
+      for (int i = 0; i < count; i++) {
+         total += durations[i];
+      }
+      return count == 0 ? 0 : toMillis(total) / count;
+   }
+
+   double maxMillis() {
+      long max = 0;
+      for (int i = 0; i < count; i++) {
+         max = Math.max(max, durations[i]);
+      }
+      return toMillis(max);
+   }
+
+   private static double toMillis(final long nanos) {
+      return nanos / 1_000_000.0;
+   }
+}
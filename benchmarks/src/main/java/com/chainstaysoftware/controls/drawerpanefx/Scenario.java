@@ -0,0 +1,25 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+/**
+ * Scripted sequence of {@link DrawerPane} changes replayed by the
+ * {@link ScenarioHarness}. All methods are called on the JavaFx
+ * application thread.
+ */
+interface Scenario {
+   /**
+    * Name of the scenario within the summary and baseline.
+    */
+   String getName();
+
+   /**
+    * Add the scenario's drawers to the passed in (empty) {@link DrawerPane}.
+    * Called before the {@link DrawerPane} is shown.
+    */
+   void setUp(DrawerPane drawerPane);
+
+   /**
+    * Apply step i of the scenario. Steps repeat - i keeps increasing for
+    * the warm up and measured steps.
+    */
+   void step(int i);
+}
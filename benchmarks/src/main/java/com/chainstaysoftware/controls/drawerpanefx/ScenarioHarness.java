@@ -0,0 +1,331 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Replays scripted {@link Scenario}s against a headless (Monocle)
+ * {@link DrawerPane}, one step per pulse, and records the cost of each step
+ * as separate phases - the step itself (action), then CSS and layout of the
+ * scene, all run from an {@link AnimationTimer} at the start of the pulse.
+ * Then the rest of the pulse (pulse) - the pane's own animation timers, and
+ * render - and the whole of the next pulse (settle), which picks up the work
+ * the pane defers to the next pulse (the change tracker, slide transitions
+ * and {@link DividerResizeMode#LIVE} divider resizing). The JavaFx pulse
+ * timings are not exposed, so the pulse and settle phases are measured up to
+ * a {@link Platform#runLater(Runnable)} posted from within the pulse. Only
+ * the main window is measured - not floating windows.
+ *
+ * Writes a JSON summary with percentiles (in milliseconds) per scenario
+ * and phase. If a baseline summary is passed in, the p95 of each phase is
+ * compared with the baseline, and the harness exits with status 1 if any
+ * phase regressed by more than the tolerance.
+ *
+ * Options:
+ *   --scenario name    Scenario to run. Repeatable. Defaults to all.
+ *   --steps n          Measured steps per scenario. Defaults to 200.
+ *   --warmup n         Unmeasured steps before measuring. Defaults to 50.
+ *   --output file      Summary file. Defaults to scenario-summary.json.
+ *   --baseline file    Summary to compare with.
+ *   --tolerance f      Allowed p95 increase, as a fraction. Defaults to 0.2.
+ *   --slack ms         Allowed p95 increase in ms, on top of the tolerance,
+ *                      so tiny phases do not fail on noise. Defaults to 0.25.
+ */
+public final class ScenarioHarness {
+   private static final String[] PHASES = {"action", "css", "layout", "pulse", "settle", "total"};
+
+   private final List<String> scenarioNames = new ArrayList<>();
+   private int steps = 200;
+   private int warmup = 50;
+   private Path output = Paths.get("scenario-summary.json");
+   private Path baseline;
+   private double tolerance = 0.2;
+   private double slackMillis = 0.25;
+
+   private ScenarioHarness() {
+   }
+
+   public static void main(final String[] args) throws IOException {
+      final ScenarioHarness harness = new ScenarioHarness();
+      harness.parseArgs(args);
+
+      FxToolkit.start();
+      final Map<String, Object> summary = harness.run();
+      Files.write(harness.output, SummaryJson.write(summary).getBytes(StandardCharsets.UTF_8));
+      System.out.println("Wrote " + harness.output.toAbsolutePath());
+
+      final boolean regressed = harness.baseline != null && harness.checkBaseline(summary);
+      System.exit(regressed ? 1 : 0);
+   }
+
+   private void parseArgs(final String[] args) {
+      for (int i = 0; i < args.length; i++) {
+         final String value = i + 1 < args.length ? args[i + 1] : null;
+         switch (args[i]) {
+            case "--scenario":
+               scenarioNames.add(value);
+               break;
+            case "--steps":
+               steps = Integer.parseInt(value);
+               break;
+            case "--warmup":
+               warmup = Integer.parseInt(value);
+               break;
+            case "--output":
+               output = Paths.get(value);
+               break;
+            case "--baseline":
+               baseline = Paths.get(value);
+               break;
+            case "--tolerance":
+               tolerance = Double.parseDouble(value);
+               break;
+            case "--slack":
+               slackMillis = Double.parseDouble(value);
+               break;
+            default:
+               throw new IllegalArgumentException("Unknown option - " + args[i]);
+         }
+         i++;
+      }
+   }
+
+   private Map<String, Object> run() {
+      final Map<String, Object> scenarios = new LinkedHashMap<>();
+      for (Scenario scenario : Scenarios.all()) {
+         if (scenarioNames.isEmpty() || scenarioNames.contains(scenario.getName())) {
+            System.out.println("Running " + scenario.getName());
+            scenarios.put(scenario.getName(), runScenario(scenario));
+         }
+      }
+
+      final Map<String, Object> summary = new LinkedHashMap<>();
+      summary.put("version", 2);
+      summary.put("steps", steps);
+      summary.put("warmup", warmup);
+      summary.put("javaVersion", System.getProperty("java.version"));
+      summary.put("scenarios", scenarios);
+      return summary;
+   }
+
+   /**
+    * Replay a scenario within its own window, and wait for it to complete.
+    * Must not be called on the JavaFx application thread.
+    */
+   private Map<String, Object> runScenario(final Scenario scenario) {
+      final ScenarioRun run = FxToolkit.call(() -> new ScenarioRun(scenario));
+      try {
+         run.await();
+      } finally {
+         FxToolkit.run(run::dispose);
+      }
+
+      final Map<String, Object> phases = new LinkedHashMap<>();
+      for (int i = 0; i < PHASES.length; i++) {
+         phases.put(PHASES[i], summarize(run.stats[i]));
+      }
+      return phases;
+   }
+
+   private static Map<String, Object> summarize(final PulseStats stats) {
+      final Map<String, Object> summary = new LinkedHashMap<>();
+      for (double percentile : PulseStats.PERCENTILES) {
+         summary.put("p" + (int)percentile, round(stats.percentileMillis(percentile)));
+      }
+      summary.put("mean", round(stats.meanMillis()));
+      summary.put("max", round(stats.maxMillis()));
+      return summary;
+   }
+
+   private static double round(final double millis) {
+      return Math.round(millis * 1000) / 1000.0;
+   }
+
+   /**
+    * Compare the p95 of each scenario phase with the baseline.
+    * @return True if any phase regressed.
+    */
+   @SuppressWarnings("unchecked")
+   private boolean checkBaseline(final Map<String, Object> summary) throws IOException {
+      final Map<String, Object> baselineSummary = SummaryJson.parse(
+         new String(Files.readAllBytes(baseline), StandardCharsets.UTF_8));
+      final Map<String, Object> baselineScenarios = (Map<String, Object>)baselineSummary.get("scenarios");
+      final Map<String, Object> scenarios = (Map<String, Object>)summary.get("scenarios");
+
+      boolean regressed = false;
+      for (Map.Entry<String, Object> scenario : scenarios.entrySet()) {
+         final Map<String, Object> baselinePhases = baselineScenarios == null
+            ? null
+            : (Map<String, Object>)baselineScenarios.get(scenario.getKey());
+         if (baselinePhases == null) {
+            System.out.println("No baseline for " + scenario.getKey());
+            continue;
+         }
+
+         final Map<String, Object> phases = (Map<String, Object>)scenario.getValue();
+         for (String phase : PHASES) {
+            final Map<String, Object> current = (Map<String, Object>)phases.get(phase);
+            final Map<String, Object> previous = (Map<String, Object>)baselinePhases.get(phase);
+            if (previous == null) {
+               continue;
+            }
+
+            final double p95 = ((Number)current.get("p95")).doubleValue();
+            final double baselineP95 = ((Number)previous.get("p95")).doubleValue();
+            final double limit = baselineP95 * (1 + tolerance) + slackMillis;
+            if (p95 > limit) {
+               regressed = true;
+               System.out.println(String.format("REGRESSION %s %s: p95 %.3fms > %.3fms (baseline %.3fms)",
+                  scenario.getKey(), phase, p95, limit, baselineP95));
+            }
+         }
+      }
+
+      System.out.println(regressed ? "Regressed against " + baseline : "No regressions against " + baseline);
+      return regressed;
+   }
+
+   /**
+    * Replays a scenario, one step every other pulse - the step's own pulse,
+    * then the settle pulse. Started before the scenario's {@link DrawerPane}
+    * is created, so that within each pulse it runs before the pane's own
+    * {@link AnimationTimer}s.
+    */
+   private final class ScenarioRun extends AnimationTimer {
+      private final Scenario scenario;
+      private final PulseStats[] stats = new PulseStats[PHASES.length];
+      private final CountDownLatch done = new CountDownLatch(1);
+      private final DrawerPane drawerPane;
+      private final Stage stage;
+      private volatile Throwable error;
+      private int step = 0;
+      // True if the next pulse is the settle pulse of the current step.
+      private boolean settling = false;
+      // True while waiting for the end of the current pulse.
+      private boolean waiting = false;
+      private long start;
+      private long actionDone;
+      private long cssDone;
+      private long layoutDone;
+      private long pulseDone;
+      private long settleStart;
+
+      ScenarioRun(final Scenario scenario) {
+         this.scenario = scenario;
+         for (int i = 0; i < stats.length; i++) {
+            stats[i] = new PulseStats(steps);
+         }
+
+         start();
+
+         try {
+            drawerPane = new DrawerPane();
+            drawerPane.setCenter(Scenarios.createTable(500, 8));
+            scenario.setUp(drawerPane);
+
+            final Scene scene = new Scene(drawerPane, 1280, 800);
+            drawerPane.initDefaultStyleSheet(scene);
+            stage = new Stage();
+            stage.setScene(scene);
+            stage.show();
+         } catch (RuntimeException ex) {
+            stop();
+            throw ex;
+         }
+      }
+
+      @Override
+      public void handle(final long now) {
+         if (waiting) {
+            return;
+         }
+
+         try {
+            if (settling) {
+               settleStart = System.nanoTime();
+            } else {
+               start = System.nanoTime();
+               scenario.step(step);
+               actionDone = System.nanoTime();
+               drawerPane.getScene().getRoot().applyCss();
+               cssDone = System.nanoTime();
+               drawerPane.getScene().getRoot().layout();
+               layoutDone = System.nanoTime();
+            }
+
+            // Runs once the rest of this pulse has completed.
+            waiting = true;
+            Platform.runLater(this::pulseCompleted);
+         } catch (Throwable ex) {
+            fail(ex);
+         }
+      }
+
+      private void pulseCompleted() {
+         waiting = false;
+         final long now = System.nanoTime();
+         if (!settling) {
+            pulseDone = now;
+            settling = true;
+            return;
+         }
+
+         settling = false;
+         if (step >= warmup) {
+            stats[0].record(actionDone - start);
+            stats[1].record(cssDone - actionDone);
+            stats[2].record(layoutDone - cssDone);
+            stats[3].record(pulseDone - layoutDone);
+            stats[4].record(now - settleStart);
+            stats[5].record(pulseDone - start + now - settleStart);
+         }
+
+         step++;
+         if (step == warmup + steps) {
+            stop();
+            done.countDown();
+         }
+      }
+
+      private void fail(final Throwable ex) {
+         error = ex;
+         stop();
+         done.countDown();
+      }
+
+      /**
+       * Wait for all of the steps to complete. Rethrows any failure.
+       */
+      void await() {
+         try {
+            done.await();
+         } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+         }
+
+         if (error != null) {
+            throw new IllegalStateException(error);
+         }
+      }
+
+      void dispose() {
+         stop();
+         drawerPane.disposeFloatingWindows();
+         stage.hide();
+      }
+   }
+}
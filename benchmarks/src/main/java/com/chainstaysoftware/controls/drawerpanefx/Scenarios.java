@@ -0,0 +1,220 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextArea;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The scenarios replayed by the {@link ScenarioHarness}.
+ */
+final class Scenarios {
+   private Scenarios() {
+   }
+
+   static List<Scenario> all() {
+      return Arrays.asList(new OpenCloseBurst(),
+         new DragAcrossSides(),
+         new DividerResize(),
+         new FloatDockHeavy());
+   }
+
+   /**
+    * {@link TableView} of rows x columns of text cells. Used as heavy
+    * content to lay out and render.
+    */
+   static TableView<String[]> createTable(final int rows,
+                                          final int columns) {
+      final TableView<String[]> tableView = new TableView<>();
+      for (int c = 0; c < columns; c++) {
+         final int column = c;
+         final TableColumn<String[], String> tableColumn = new TableColumn<>("Column " + c);
+         tableColumn.setCellValueFactory(features -> new ReadOnlyStringWrapper(features.getValue()[column]));
+         tableView.getColumns().add(tableColumn);
+      }
+
+      final ObservableList<String[]> items = FXCollections.observableArrayList();
+      for (int r = 0; r < rows; r++) {
+         final String[] row = new String[columns];
+         for (int c = 0; c < columns; c++) {
+            row[c] = "Cell " + r + "," + c;
+         }
+         items.add(row);
+      }
+      tableView.setItems(items);
+      return tableView;
+   }
+
+   private static DrawerNode createTextNode(final String title) {
+      final Node contents = new TextArea(title);
+      return new DrawerNode(contents, title);
+   }
+
+   /**
+    * Bursts of drawers being opened, then closed, on the left side.
+    */
+   static class OpenCloseBurst implements Scenario {
+      private static final int DRAWERS = 20;
+      private static final int BURST = 5;
+
+      private final List<DrawerNode> nodes = new ArrayList<>();
+      private DrawerPane drawerPane;
+
+      @Override
+      public String getName() {
+         return "open-close-burst";
+      }
+
+      @Override
+      public void setUp(final DrawerPane drawerPane) {
+         this.drawerPane = drawerPane;
+         for (int i = 0; i < DRAWERS; i++) {
+            final DrawerNode node = createTextNode("Burst " + i);
+            node.setVisible(false);
+            nodes.add(node);
+            drawerPane.addLeft(node);
+         }
+      }
+
+      @Override
+      public void step(final int i) {
+         // Even steps open a burst of drawers, odd steps close them.
+         final int first = ((i / 2) * BURST) % DRAWERS;
+         for (int j = first; j < first + BURST; j++) {
+            if (i % 2 == 0) {
+               drawerPane.show(nodes.get(j));
+            } else {
+               drawerPane.hide(nodes.get(j));
+            }
+         }
+      }
+   }
+
+   /**
+    * Open drawers dropped onto each of the sides in turn. A drag gesture
+    * cannot be generated headless, so each drop is replayed as the move
+    * that the drop results in.
+    */
+   static class DragAcrossSides implements Scenario {
+      private static final int DRAWERS = 8;
+
+      private final List<DrawerNode> nodes = new ArrayList<>();
+      private DrawerPane drawerPane;
+
+      @Override
+      public String getName() {
+         return "drag-across-sides";
+      }
+
+      @Override
+      public void setUp(final DrawerPane drawerPane) {
+         this.drawerPane = drawerPane;
+         for (int i = 0; i < DRAWERS; i++) {
+            final DrawerNode node = createTextNode("Dragged " + i);
+            nodes.add(node);
+            drawerPane.addLeft(node);
+         }
+      }
+
+      @Override
+      public void step(final int i) {
+         final DrawerNode node = nodes.get(i % DRAWERS);
+         final Position current = drawerPane.getPosition(node).orElse(Position.Left);
+         final Position next = Position.values()[(current.ordinal() + 1) % Position.values().length];
+         drawerPane.batch(editor -> editor.move(node, next, i % 3));
+      }
+   }
+
+   /**
+    * Left side resized back and forth by dragging its divider - one drag
+    * event per step, applied on the next pulse by
+    * {@link DividerResizeMode#LIVE} resizing. The drag events are fired at
+    * the divider directly, as the headless platform has no mouse.
+    */
+   static class DividerResize implements Scenario {
+      private static final int STEPS_PER_SWEEP = 25;
+      private static final double STEP_SIZE = 8;
+
+      private AbstractSide side;
+      private Node divider;
+
+      @Override
+      public String getName() {
+         return "divider-resize";
+      }
+
+      @Override
+      public void setUp(final DrawerPane drawerPane) {
+         for (int i = 0; i < 3; i++) {
+            drawerPane.addLeft(createTextNode("Resized " + i));
+         }
+         side = drawerPane.getSide(Position.Left);
+      }
+
+      @Override
+      public void step(final int i) {
+         if (divider == null) {
+            divider = side.lookup(".drawerpanefx-vertical-divider");
+            if (divider == null) {
+               throw new IllegalStateException("Left side has no divider");
+            }
+            fireMouseEvent(MouseEvent.MOUSE_PRESSED, 0);
+         }
+
+         // Drag away from the toolbar for a sweep, then back.
+         final boolean growing = i % (STEPS_PER_SWEEP * 2) < STEPS_PER_SWEEP;
+         fireMouseEvent(MouseEvent.MOUSE_DRAGGED, growing ? STEP_SIZE : -STEP_SIZE);
+      }
+
+      /**
+       * Fire a mouse event at the divider, offset from the divider's current
+       * (scene) location.
+       */
+      private void fireMouseEvent(final EventType<MouseEvent> eventType,
+                                  final double offset) {
+         final Bounds bounds = divider.localToScene(divider.getLayoutBounds());
+         final double x = bounds.getMinX() + offset;
+         final double y = bounds.getMinY() + bounds.getHeight() / 2;
+         Event.fireEvent(divider, new MouseEvent(eventType, x, y, x, y, MouseButton.PRIMARY, 1,
+            false, false, false, false, true, false, false, false, false, false, null));
+      }
+   }
+
+   /**
+    * A drawer containing a large {@link TableView} floated and docked in turn.
+    */
+   static class FloatDockHeavy implements Scenario {
+      private DrawerPane drawerPane;
+      private DrawerNode node;
+
+      @Override
+      public String getName() {
+         return "float-dock-heavy";
+      }
+
+      @Override
+      public void setUp(final DrawerPane drawerPane) {
+         this.drawerPane = drawerPane;
+         node = new DrawerNode(createTable(2000, 12), "Table");
+         drawerPane.addBottom(node);
+      }
+
+      @Override
+      public void step(final int i) {
+         final boolean floating = i % 2 == 0;
+         drawerPane.batch(editor -> editor.setFloating(node, floating));
+      }
+   }
+}
@@ -0,0 +1,141 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.DragEvent;
+import javafx.scene.input.TransferMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of adding/removing and looking up drawers within a side of
+ * 10, 100 and 1000 drawers - every tenth of which is open.
+ * Adding/removing changes the {@link DrawerPane}'s layout model, which is
+ * read on the JavaFx application thread each pulse (to update the live
+ * drawer lists and fire the drawer events). So, those benchmarks run on the
+ * JavaFx application thread - a batch of operations per hand off to it, so
+ * that the hand off's time and allocations are spread across the batch. The
+ * lookups do not change anything, so are called directly from the benchmark
+ * thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SideBenchmark {
+   // Operations run per hand off to the JavaFx application thread.
+   private static final int BATCH_SIZE = 100;
+
+   @Param({"10", "100", "1000"})
+   private int drawerCount;
+
+   private DrawerPane drawerPane;
+   private AbstractSide side;
+   private DrawerNode middleNode;
+   private int middleIndex;
+   private DrawerNode lastNode;
+   private DrawerNode extraNode;
+   private DragEvent dragEvent;
+
+   @Setup
+   public void setUp() {
+      FxToolkit.start();
+      FxToolkit.run(() -> {
+         drawerPane = new DrawerPane();
+         for (int i = 0; i < drawerCount; i++) {
+            final DrawerNode node = createNode("Drawer " + i);
+            node.setVisible(i % 10 == 0);
+            drawerPane.addLeft(node);
+         }
+
+         final Scene scene = new Scene(drawerPane, 800, 600);
+         drawerPane.initDefaultStyleSheet(scene);
+         drawerPane.applyCss();
+         drawerPane.layout();
+
+         side = drawerPane.getSide(Position.Left);
+         final List<DrawerNode> nodes = side.getNodes();
+         middleIndex = nodes.size() / 2;
+         middleNode = nodes.get(middleIndex);
+         lastNode = nodes.get(nodes.size() - 1);
+         extraNode = createNode("Extra");
+         extraNode.setVisible(false);
+
+         // Drag over the middle of the side's toolbar.
+         dragEvent = new DragEvent(DragEvent.DRAG_OVER, null, 10, 300, 10, 300,
+            TransferMode.MOVE, null, null, null);
+         side.findInsertPosition(dragEvent);
+      });
+   }
+
+   private static DrawerNode createNode(final String title) {
+      return new DrawerNode(new Label(title), title, null, false, null, Collections.emptyList());
+   }
+
+   /**
+    * Add a drawer to the end of the side, then remove it.
+    */
+   @Benchmark
+   @OperationsPerInvocation(BATCH_SIZE)
+   public void addAndRemoveLastNode() {
+      FxToolkit.run(() -> {
+         for (int i = 0; i < BATCH_SIZE; i++) {
+            side.addNode(extraNode);
+            side.removeNode(extraNode);
+         }
+      });
+   }
+
+   /**
+    * Remove a drawer from the middle of the side, then add it back.
+    */
+   @Benchmark
+   @OperationsPerInvocation(BATCH_SIZE)
+   public void removeAndAddMiddleNode() {
+      FxToolkit.run(() -> {
+         for (int i = 0; i < BATCH_SIZE; i++) {
+            side.removeNode(middleNode);
+            side.addNode(middleNode, middleIndex);
+         }
+      });
+   }
+
+   @Benchmark
+   public Object findButton() {
+      return side.findButton(middleNode);
+   }
+
+   @Benchmark
+   public AbstractSide getContainingSide() {
+      return drawerPane.getContainingSide(middleNode);
+   }
+
+   @Benchmark
+   public int findInsertPositionForNode() {
+      return side.findInsertPosition(lastNode);
+   }
+
+   /**
+    * Insert position lookup for each drag over event of a drag.
+    */
+   @Benchmark
+   public int findInsertPositionForDragEvent() {
+      return side.findInsertPosition(dragEvent);
+   }
+}
@@ -0,0 +1,168 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes and reads the JSON summary produced by the {@link ScenarioHarness}.
+ * Only supports the subset of JSON used by the summary - nested objects
+ * with string keys and number (or string) values.
+ */
+final class SummaryJson {
+   private SummaryJson() {
+   }
+
+   /**
+    * Write a map of maps/numbers/strings as indented JSON.
+    */
+   static String write(final Map<String, ?> map) {
+      final StringBuilder sb = new StringBuilder();
+      write(sb, map, 0);
+      return sb.append('\n').toString();
+   }
+
+   private static void write(final StringBuilder sb,
+                             final Map<String, ?> map,
+                             final int indent) {
+      sb.append("{");
+      boolean first = true;
+      for (Map.Entry<String, ?> entry : map.entrySet()) {
+         sb.append(first ? "\n" : ",\n");
+         first = false;
+         indent(sb, indent + 1);
+         sb.append(quote(entry.getKey())).append(": ");
+
+         final Object value = entry.getValue();
+         if (value instanceof Map) {
+            @SuppressWarnings("unchecked")
+            final Map<String, ?> child = (Map<String, ?>)value;
+            write(sb, child, indent + 1);
+         } else if (value instanceof Number) {
+            sb.append(value);
+         } else {
+            sb.append(quote(String.valueOf(value)));
+         }
+      }
+      sb.append('\n');
+      indent(sb, indent);
+      sb.append("}");
+   }
+
+   private static void indent(final StringBuilder sb,
+                              final int indent) {
+      for (int i = 0; i < indent; i++) {
+         sb.append("  ");
+      }
+   }
+
+   private static String quote(final String value) {
+      return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+   }
+
+   /**
+    * Parse a JSON object. Numbers are returned as Doubles, nested
+    * objects as Maps.
+    * @throws IllegalArgumentException if the JSON is not supported.
+    */
+   static Map<String, Object> parse(final String json) {
+      final Parser parser = new Parser(json);
+      final Map<String, Object> map = parser.parseObject();
+      parser.skipWhitespace();
+      if (parser.pos != json.length()) {
+         throw parser.error("Unexpected content");
+      }
+      return map;
+   }
+
+   private static class Parser {
+      private final String json;
+      private int pos = 0;
+
+      Parser(final String json) {
+         this.json = json;
+      }
+
+      Map<String, Object> parseObject() {
+         expect('{');
+         final Map<String, Object> map = new LinkedHashMap<>();
+         skipWhitespace();
+         if (peek() == '}') {
+            pos++;
+            return map;
+         }
+
+         while (true) {
+            skipWhitespace();
+            final String key = parseString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            map.put(key, parseValue());
+            skipWhitespace();
+            if (peek() == ',') {
+               pos++;
+            } else {
+               expect('}');
+               return map;
+            }
+         }
+      }
+
+      private Object parseValue() {
+         final char c = peek();
+         if (c == '{') {
+            return parseObject();
+         } else if (c == '"') {
+            return parseString();
+         }
+
+         final int start = pos;
+         while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) >= 0) {
+            pos++;
+         }
+         try {
+            return Double.valueOf(json.substring(start, pos));
+         } catch (NumberFormatException ex) {
+            throw error("Expected a number");
+         }
+      }
+
+      private String parseString() {
+         expect('"');
+         final StringBuilder sb = new StringBuilder();
+         while (peek() != '"') {
+            char c = json.charAt(pos++);
+            if (c == '\\') {
+               c = json.charAt(pos++);
+            }
+            sb.append(c);
+         }
+         pos++;
+         return sb.toString();
+      }
+
+      void skipWhitespace() {
+         while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+         }
+      }
+
+      private char peek() {
+         if (pos >= json.length()) {
+            throw error("Unexpected end");
+         }
+         return json.charAt(pos);
+      }
+
+      private void expect(final char c) {
+         if (peek() != c) {
+            throw error("Expected '" + c + "'");
+         }
+         pos++;
+      }
+
+      IllegalArgumentException error(final String message) {
+         return new IllegalArgumentException(message + " at offset " + pos);
+      }
+   }
+}
@@ -0,0 +1,85 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of showing/hiding the docked drawers of a side, with and
+ * without multiple open drawers allowed. Showing/hiding changes the
+ * {@link DrawerPane}'s layout model, which is read on the JavaFx application
+ * thread each pulse, so the benchmark runs on the JavaFx application thread -
+ * a batch of show/hides per hand off to it, so that the hand off's time and
+ * allocations are spread across the batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToggleBenchmark {
+   private static final int DRAWER_COUNT = 10;
+   // Show/hides run per hand off to the JavaFx application thread.
+   private static final int BATCH_SIZE = 100;
+
+   @Param({"true", "false"})
+   private boolean allowMultipleOpenDrawers;
+
+   private DrawerPane drawerPane;
+   private final DrawerNode[] nodes = new DrawerNode[DRAWER_COUNT];
+   private int next = 0;
+
+   @Setup
+   public void setUp() {
+      FxToolkit.start();
+      FxToolkit.run(() -> {
+         drawerPane = new DrawerPane();
+         drawerPane.setLeftAllowMultipleOpenDrawers(allowMultipleOpenDrawers);
+         for (int i = 0; i < DRAWER_COUNT; i++) {
+            nodes[i] = new DrawerNode(new Label("Drawer " + i), "Drawer " + i,
+               null, false, null, Collections.emptyList());
+            nodes[i].setVisible(false);
+            drawerPane.addLeft(nodes[i]);
+         }
+
+         // Leave a drawer open, so the side's SplitPane is showing.
+         drawerPane.show(nodes[0]);
+
+         final Scene scene = new Scene(drawerPane, 800, 600);
+         drawerPane.initDefaultStyleSheet(scene);
+         drawerPane.applyCss();
+         drawerPane.layout();
+      });
+   }
+
+   /**
+    * Show the next drawer, then hide it. When only a single open drawer is
+    * allowed, showing closes the open drawer, and hiding leaves none open.
+    */
+   @Benchmark
+   @OperationsPerInvocation(BATCH_SIZE)
+   public void showHide() {
+      FxToolkit.run(() -> {
+         for (int i = 0; i < BATCH_SIZE; i++) {
+            next = next % (DRAWER_COUNT - 1) + 1;
+            drawerPane.show(nodes[next]);
+            drawerPane.hide(nodes[next]);
+         }
+      });
+   }
+}
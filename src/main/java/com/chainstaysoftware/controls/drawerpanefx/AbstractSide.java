@@ -1,43 +1,64 @@
 package com.chainstaysoftware.controls.drawerpanefx;
 
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.scene.Cursor;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckMenuItem;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuButton;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.SplitPane;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToolBar;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.DragEvent;
 import javafx.scene.input.Dragboard;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.TransferMode;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.transform.Rotate;
 import javafx.stage.Stage;
 import javafx.stage.Window;
 import javafx.stage.WindowEvent;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.OptionalDouble;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Abstract Child Pane to hold onto {@link DrawerNode} instances that are
@@ -46,32 +67,123 @@ import java.util.stream.Collectors;
 abstract class AbstractSide extends Pane {
    private static Logger logger = LoggerFactory.getLogger("com.chainstaysoftware.controls.drawerpanefx.AbstractSide");
 
-   // TODO: Allow setting max/min percentage of scene??
-   //private static final int SPLITPANE_MIN_WIDTH = 100;
-   private static final double MAX_PERCENTAGE_OF_SCENE = .30;
+   static final double DEFAULT_MAX_PERCENTAGE_OF_SCENE = .30;
    private static final int DIVIDER_WIDTH = 5;
+   private static final int MAX_SPARE_BUTTONS = 16;
+   static final Duration DEFAULT_ANIMATION_DURATION = Duration.millis(200);
+   // How long the pointer must rest on a toolbar entry before prefetching.
+   private static final Duration PREFETCH_DELAY = Duration.millis(300);
    private static final ResourceBundle resourceBundle = ResourceBundle.getBundle("drawerpanefx");
 
    // Toolbar to contain the show/hide buttons for contained drawers.
    private final ToolBar toolBar = new ToolBar();
    private final HBox toolbarHbox = new HBox();
+   // Contained drawers, in toolbar order. The toolbar's view of this side's
+   // drawers within the registry's model - differs only while a drawer is
+   // being dragged from this side.
+   private final List<DrawerNode> nodes = new ArrayList<>();
+   // Show/hide button for each contained drawer that has a button.
+   private final Map<DrawerNode, DrawerButton> buttons = new IdentityHashMap<>();
    // SplitPane to contain visible non-floating drawers,
    private final SplitPane splitPane = new SplitPane();
    private final Divider divider;
 
    private final Position position;
    private final DragState dragState;
+   private final DrawerRegistry registry;
+   private final FloatingWindowBuilder floatingWindows;
+   private final InternalWindowBuilder internalWindows;
+   private final DrawerPaneMetrics metrics;
    private final Region insertionSpacer = new Region();
+   private final Rectangle clipRectangle = new Rectangle();
+   private final ButtonMidpoints buttonMidpoints = new ButtonMidpoints();
+   // Index of the insertionSpacer within the toolbar. -1 if not present.
+   private int insertionSpacerIndex = -1;
+   // Parameters for drag view snapshots of this side's buttons.
+   private final SnapshotParameters dragViewParameters = new SnapshotParameters();
 
    private boolean allowMultipleOpenDrawers = true;
+   // Floating mode of the drawers that do not set their own.
+   private FloatingMode floatingMode = FloatingMode.WINDOW;
    private boolean floatingSelectedChanged = false;
+   // Nesting depth of batch updates, and the SplitPane items to apply
+   // when the outermost batch update ends. Null when not within a batch.
+   private int batchDepth = 0;
+   private List<Node> batchItems;
+   private boolean suppressItemListener = false;
+   // True while a button is being bound to a drawer. Used to ignore the
+   // resulting selected/floating changes.
+   private boolean bindingButton = false;
+
+   // Virtualized toolbar. Only the drawers that fit within the toolbar get
+   // a button. The rest are listed within the overflow menu.
+   private boolean virtualized = false;
+   private boolean toolbarDirty = false;
+   private double lastToolbarLength = -1;
+   // Created when first needed.
+   private MenuButton overflowButton;
+   private double overflowButtonLength = -1;
+   // Buttons that are no longer bound to a drawer, available for reuse.
+   private final Deque<DrawerButton> spareButtons = new ArrayDeque<>();
+
+   // Toolbar drawn on a canvas, in place of the ToolBar and its buttons.
+   // Null unless the toolbar is canvas rendered.
+   private CanvasToolbar canvasToolbar;
+   private final Runnable canvasToolbarRedraw = () -> canvasToolbar.markDirty();
+   // Drawer pressed within the canvas toolbar, and the drawer being
+   // dragged from the canvas toolbar.
+   private DrawerNode canvasPressedNode;
+   private DrawerNode canvasDraggedNode;
+   // Floating mode/overflow menu of the canvas toolbar. Created when first needed.
+   private ContextMenu canvasMenu;
+
+   // Floating drawers waiting for this side's window to be showing (e.g.
+   // floated by a layout restore before the application's Stage is shown).
+   private final Set<DrawerNode> pendingFloats = Collections.newSetFromMap(new IdentityHashMap<>());
+   private final InvalidationListener ownerWindowListener = observable -> floatPendingWhenShowing();
+   private Scene watchedScene;
+   private Window watchedWindow;
+
+   // Animated slide in/out of the drawers. When sliding out, the SplitPane
+   // is replaced by a snapshot of itself until the slide completes.
+   private boolean animated = false;
+   private Duration animationDuration = DEFAULT_ANIMATION_DURATION;
+   private SlideTransition slide;
+   // True while a slide in waits for this side's next layout pass.
+   private boolean slideInPending = false;
+   private ImageView slideOutView;
+
+   // Hover intent prefetch. A drawer's contents are built and warmed (CSS
+   // applied and laid out) within an off screen scene when the pointer
+   // rests on the drawer's toolbar entry.
+   private boolean prefetch = false;
+   // Created when first needed.
+   private PauseTransition prefetchTimer;
+   private DrawerNode prefetchCandidate;
+   // Off screen scene to warm drawers within. Created when first needed.
+   private Scene warmUpScene;
+   private final Set<DrawerNode> warmedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+   // Divider resizing.
+   private DividerResizeMode resizeMode = DividerResizeMode.LIVE;
+   private double minDrawerSize = 0;
+   private double maxPercentageOfScene = DEFAULT_MAX_PERCENTAGE_OF_SCENE;
 
    AbstractSide(final Position position,
-                final DragState dragState) {
+                final DragState dragState,
+                final DrawerRegistry registry,
+                final FloatingWindowBuilder floatingWindows,
+                final InternalWindowBuilder internalWindows,
+                final DrawerPaneMetrics metrics) {
 
       this.position = position;
       this.dragState = dragState;
+      this.registry = registry;
+      this.floatingWindows = floatingWindows;
+      this.internalWindows = internalWindows;
+      this.metrics = metrics;
       this.divider = new Divider();
+      registry.addSide(this);
    }
 
    /**
@@ -82,6 +194,7 @@ abstract class AbstractSide extends Pane {
    protected void init() {
       toolbarHbox.setId("toolbarHbox");
       toolbarHbox.setRotate(getRotation());
+      dragViewParameters.setTransform(new Rotate(getRotation()));
 
       initToolbar();
       initDivider();
@@ -118,7 +231,19 @@ abstract class AbstractSide extends Pane {
 
       toolBar.setOnDragOver(new ToolbarDragOverHandler());
       toolBar.setOnDragDropped(new ToolbarDragDroppedHandler());
-      toolBar.setOnDragExited(event -> toolbarHbox.getChildren().remove(insertionSpacer));
+      toolBar.setOnDragExited(new ToolbarDragExitedHandler());
+   }
+
+   /**
+    * {@link EventHandler} for handling drag exited events for the {@link ToolBar}.
+    */
+   private class ToolbarDragExitedHandler implements EventHandler<DragEvent> {
+      @Override
+      public void handle(final DragEvent event) {
+         removeInsertionSpacer();
+         buttonMidpoints.invalidate();
+         markToolbarDirty();
+      }
    }
 
    /**
@@ -130,20 +255,13 @@ abstract class AbstractSide extends Pane {
       @Override
       public void handle(final DragEvent event) {
          logger.debug("Handling DragOver event");
+         metrics.countDragOver();
 
          if (canAccept(event)) {
             logger.debug("Accepting DragOver event");
 
-            // Remove the spacer if present.
-            toolbarHbox.getChildren().remove(insertionSpacer);
-
-            // Insert the spacer at the new proposed location.
-            toolbarHbox.getChildren().stream()
-               .filter(node -> node instanceof ToggleButton)
-               .findFirst()
-               .ifPresent(node -> insertionSpacer.setPrefWidth(((ToggleButton)node).getWidth()));
-            final int i = findInsertPosition(event);
-            toolbarHbox.getChildren().add(i, insertionSpacer);
+            // Move the spacer to the new proposed location.
+            moveInsertionSpacer(findInsertPosition(event));
 
             event.acceptTransferModes(TransferMode.MOVE);
          }
@@ -162,6 +280,41 @@ abstract class AbstractSide extends Pane {
       }
    }
 
+   /**
+    * Move the insertionSpacer to the passed in index within the toolbar. A NOOP
+    * if the insertionSpacer is already at the index, so the toolbar is only
+    * changed when the proposed drop location changes.
+    */
+   private void moveInsertionSpacer(final int index) {
+      if (index == insertionSpacerIndex) {
+         return;
+      }
+
+      if (canvasToolbar != null) {
+         canvasToolbar.setInsertionIndex(index);
+         insertionSpacerIndex = index;
+         return;
+      }
+
+      removeInsertionSpacer();
+      toolbarHbox.getChildren().add(index, insertionSpacer);
+      insertionSpacerIndex = index;
+   }
+
+   /**
+    * Remove the insertionSpacer from the toolbar - if present.
+    */
+   private void removeInsertionSpacer() {
+      if (insertionSpacerIndex >= 0) {
+         if (canvasToolbar != null) {
+            canvasToolbar.setInsertionIndex(CanvasToolbar.NO_ENTRY);
+         } else {
+            toolbarHbox.getChildren().remove(insertionSpacer);
+         }
+         insertionSpacerIndex = -1;
+      }
+   }
+
    /**
     * {@link EventHandler} for handling drag dropped events for the {@link ToolBar}.
     * Used to update the owning {@link ToolBar} with a dropped {@link DrawerNode}.
@@ -170,52 +323,67 @@ abstract class AbstractSide extends Pane {
       @Override
       public void handle(final DragEvent event) {
          logger.debug("Handling DragDropped event");
+         final long start = metrics.start();
          boolean success = false;
 
          final DrawerNode drawerNode = dragState.getDraggedNode();
          if (drawerNode != null) {
             // Remove the spacer.
-            toolbarHbox.getChildren().remove(insertionSpacer);
+            removeInsertionSpacer();
 
             // If the dragged node is present, then remove from the current location
-            toolbarHbox.getChildren().stream()
-               .filter(node -> node.getUserData() == drawerNode)
-               .findFirst()
-               .ifPresent(node -> toolbarHbox.getChildren().remove(node));
+            final DrawerButton oldButton = buttons.remove(drawerNode);
+            if (oldButton != null) {
+               toolbarHbox.getChildren().remove(oldButton);
+            }
+            nodes.remove(drawerNode);
 
             // Insert the dragged node into the new location.
             final int i = findInsertPosition(event);
-            final ToggleButton newButton = createButton(drawerNode);
-            toolbarHbox.getChildren().add(i, newButton);
+            buttonMidpoints.invalidate();
+            if (canvasToolbar == null) {
+               final DrawerButton newButton = acquireButton(drawerNode);
+               toolbarHbox.getChildren().add(i, newButton);
+               buttons.put(drawerNode, newButton);
+            }
+            nodes.add(i, drawerNode);
+            registry.register(drawerNode, AbstractSide.this, i);
+            markToolbarDirty();
 
             dragState.setDraggedNode(null);
 
             // Close open drawers if only allow single open.
             if (!allowMultipleOpenDrawers) {
-               splitPane.getItems().clear();
-               // Toggle buttons off.
-               toolbarHbox.getChildren()
-                  .stream()
-                  .filter(btn -> !newButton.equals(btn)
-                     && !((DrawerNode)btn.getUserData()).isFloating())
-                  .forEach(btn -> ((ToggleButton)btn).setSelected(false));
+               closeDockedDrawers(drawerNode);
             }
 
             // Update the split pane to include the dragged node
-            // in the correct location (if visible and not floating.
-            splitPane.getItems().clear();
-            splitPane.getItems().setAll(toolbarHbox.getChildren().stream()
-               .map(button -> (DrawerNode)button.getUserData())
-               .filter(Node::isVisible)
-               .filter(node -> !node.isFloating())
-               .collect(Collectors.toList()));
+            // in the correct location (if visible and not floating).
+            ListReconciler.reconcile(getDockedItems(), getDockedNodes());
+            registry.fireChanged();
 
             success = true;
          }
 
          event.setDropCompleted(success);
          event.consume();
+         metrics.record(DrawerPaneMetrics.Operation.DROP, start);
+      }
+   }
+
+   /**
+    * The visible, non-floating {@link DrawerNode}s in toolbar order. i.e.
+    * the {@link DrawerNode}s that should be contained within the {@link SplitPane}.
+    */
+   private List<Node> getDockedNodes() {
+      final List<Node> docked = new ArrayList<>();
+      for (DrawerNode node : nodes) {
+         if (node.isVisible() && !node.isFloating()) {
+            docked.add(node);
+         }
       }
+
+      return docked;
    }
 
    /**
@@ -224,6 +392,8 @@ abstract class AbstractSide extends Pane {
    private void initSplitPane() {
       splitPane.setOrientation(getOrientation());
       splitPane.getItems().addListener(new SplitPaneItemChangeListener());
+      // Dragging a divider between drawers changes the layout.
+      splitPane.addEventFilter(MouseEvent.MOUSE_RELEASED, event -> registry.fireChanged());
    }
 
    /**
@@ -234,31 +404,220 @@ abstract class AbstractSide extends Pane {
    private class SplitPaneItemChangeListener implements ListChangeListener<Node> {
       @Override
       public void onChanged(Change<? extends Node> c) {
-         final int numItems = splitPane.getItems().size();
-         if (numItems == 0) {
-            getPane().getChildren().remove(splitPane);
-            getPane().getChildren().remove(divider);
-            return;
+         metrics.countItemChange();
+         updateVisibility(c);
+         if (!suppressItemListener) {
+            updateSplitPane();
          }
+      }
+   }
 
-         if (Position.Top.equals(position) || Position.Left.equals(position)) {
-            getPane().getChildren().setAll(toolBar, splitPane, divider);
-         } else if (Position.Bottom.equals(position) || Position.Right.equals(position)) {
-            getPane().getChildren().setAll(divider, splitPane, toolBar);
+   /**
+    * Mark {@link DrawerNode}s that were added to the {@link SplitPane} as
+    * docked, and those that were removed because they were closed (or removed
+    * from the {@link DrawerPane}) as hidden. A {@link DrawerNode} that is still
+    * open - moved within this side, moved to another side, or floated - keeps
+    * the visibility set by its new location.
+    */
+   private void updateVisibility(final ListChangeListener.Change<? extends Node> change) {
+      while (change.next()) {
+         for (Node removed : change.getRemoved()) {
+            if (removed instanceof DrawerNode
+               && ((DrawerNode)removed).getVisibility() == DrawerVisibility.DOCKED
+               && !splitPane.getItems().contains(removed)
+               && isClosedOrRemoved((DrawerNode)removed)) {
+               ((DrawerNode)removed).setVisibility(DrawerVisibility.HIDDEN);
+            }
+         }
+         for (Node added : change.getAddedSubList()) {
+            if (added instanceof DrawerNode) {
+               ((DrawerNode)added).setVisibility(DrawerVisibility.DOCKED);
+            }
          }
+      }
+      change.reset();
+   }
+
+   /**
+    * True if the passed in {@link DrawerNode} is no longer open, or is no
+    * longer within the {@link DrawerPane}.
+    */
+   private boolean isClosedOrRemoved(final DrawerNode node) {
+      return registry.getSide(node) == null || !registry.getModel().isOpen(node);
+   }
+
+   /**
+    * Show/hide the {@link SplitPane} and set its divider positions to
+    * match the current items.
+    */
+   private void updateSplitPane() {
+      final int numItems = splitPane.getItems().size();
+      updateChrome(numItems > 0);
 
+      if (numItems > 1) {
+         final double[] positions = new double[numItems - 1];
          final double percent = 1.0 / numItems;
          for (int i = 1; i < numItems; i++) {
-            splitPane.setDividerPosition(i - 1, i * percent);
+            positions[i - 1] = i * percent;
+         }
+         splitPane.setDividerPositions(positions);
+      }
+   }
+
+   /**
+    * The list to add/remove docked {@link DrawerNode}s to/from. The
+    * {@link SplitPane} items - or the pending items if within a batch update.
+    */
+   private List<Node> getDockedItems() {
+      return batchItems == null ? splitPane.getItems() : batchItems;
+   }
+
+   /**
+    * Start a batch update. Until the matching {@link #endBatch()}, changes to
+    * the docked drawers are recorded rather than applied to the {@link SplitPane}.
+    */
+   void beginBatch() {
+      if (batchDepth++ == 0) {
+         batchItems = new ArrayList<>(splitPane.getItems());
+      }
+   }
+
+   /**
+    * End a batch update. When the outermost batch update ends, the net
+    * change to the docked drawers is applied to the {@link SplitPane},
+    * followed by a single update of the side's chrome and dividers.
+    */
+   void endBatch() {
+      if (--batchDepth > 0) {
+         return;
+      }
+
+      final List<Node> items = batchItems;
+      batchItems = null;
+
+      suppressItemListener = true;
+      try {
+         ListReconciler.reconcile(splitPane.getItems(), items);
+      } finally {
+         suppressItemListener = false;
+      }
+
+      updateSplitPane();
+   }
+
+   /**
+    * Show/hide the {@link SplitPane} and {@link Divider} next to the
+    * {@link ToolBar}. The children of this side are only touched if the
+    * {@link SplitPane} is not already in the requested state, so the
+    * {@link ToolBar} is never reparented.
+    */
+   private void updateChrome(final boolean showSplitPane) {
+      final ObservableList<Node> children = getPane().getChildren();
+      final boolean splitPaneShowing = children.contains(splitPane);
+      if (showSplitPane == splitPaneShowing) {
+         return;
+      }
+
+      completeSlide();
+
+      if (!showSplitPane) {
+         children.removeAll(splitPane, divider);
+      } else {
+         if (Position.Top.equals(position) || Position.Left.equals(position)) {
+            children.addAll(splitPane, divider);
+         } else {
+            children.addAll(0, Arrays.asList(divider, splitPane));
          }
+
+         // Slide in once the space for the drawers has been laid out at its
+         // new size (within the next layout pass), so that the slide starts
+         // from the drawers' full width/height. Held closed until then.
+         if (canAnimate()) {
+            slide = createSlide(splitPane, true);
+            slide.hold();
+            slideInPending = true;
+            requestLayout();
+         }
+      }
+   }
+
+   /**
+    * True if showing/hiding the drawers should be animated.
+    */
+   private boolean canAnimate() {
+      final Window window = getScene() == null ? null : getScene().getWindow();
+      return animated
+         && batchItems == null
+         && window != null
+         && window.isShowing()
+         && animationDuration.greaterThan(Duration.ZERO);
+   }
+
+   /**
+    * Slide a node in/out. The slide is completed when finished, or when
+    * interrupted by another change to the side's chrome.
+    */
+   private void startSlide(final Node node,
+                           final boolean opening) {
+      slide = createSlide(node, opening);
+      slide.play();
+   }
+
+   private SlideTransition createSlide(final Node node,
+                                       final boolean opening) {
+      final SlideTransition transition = new SlideTransition(node, position, opening, animationDuration);
+      transition.setOnFinished(event -> completeSlide());
+      return transition;
+   }
+
+   /**
+    * Jump the current slide - if any - to its end state. Once the
+    * drawers have slid out, the space for the drawers is removed.
+    */
+   private void completeSlide() {
+      slideInPending = false;
+      if (slide != null) {
+         slide.reset();
+         slide = null;
+      }
+
+      if (slideOutView != null) {
+         getPane().getChildren().removeAll(slideOutView, divider);
+         slideOutView.setImage(null);
+         slideOutView = null;
+      }
+   }
+
+   /**
+    * Slide out the {@link SplitPane} - if the passed in {@link DrawerNode}
+    * is about to be hidden and is the only docked drawer. The
+    * {@link SplitPane} is replaced by a snapshot of itself, so that the
+    * side's size is unchanged until the slide completes.
+    */
+   private void slideOutIfLast(final DrawerNode node) {
+      final ObservableList<Node> children = getPane().getChildren();
+      if (!canAnimate()
+         || splitPane.getItems().size() != 1
+         || splitPane.getItems().get(0) != node
+         || !children.contains(splitPane)) {
+         return;
       }
+
+      completeSlide();
+
+      final SnapshotParameters params = new SnapshotParameters();
+      params.setFill(Color.TRANSPARENT);
+      final WritableImage image = splitPane.snapshot(params, null);
+
+      slideOutView = new ImageView(image);
+      children.set(children.indexOf(splitPane), slideOutView);
+      startSlide(slideOutView, false);
    }
 
    /**
     * Sets clipping region so that children of this Side do not spill out.
     */
    private void setClippingRegion() {
-      final Rectangle clipRectangle = new Rectangle();
       setClip(clipRectangle);
       layoutBoundsProperty().addListener((observable, oldValue, newValue) -> {
          clipRectangle.setWidth(newValue.getWidth());
@@ -282,7 +641,7 @@ abstract class AbstractSide extends Pane {
     * Adds a {@link DrawerNode} to the end of this Side.
     */
    void addNode(final DrawerNode node) {
-      addNode(node, toolbarHbox.getChildren().size());
+      addNode(node, nodes.size());
    }
 
    /**
@@ -294,40 +653,113 @@ abstract class AbstractSide extends Pane {
          return;
       }
 
+      nodes.add(index, node);
+
       if (!node.isFloating() && node.isVisible()) {
-         splitPane.getItems().add(index, node);
+         node.buildContents();
+         getDockedItems().add(findInsertPosition(node), node);
+      }
+
+      if (hasButtonPerDrawer()) {
+         final DrawerButton button = acquireButton(node);
+         toolbarHbox.getChildren().add(index, button);
+         buttons.put(node, button);
+      }
+
+      registry.register(node, this, index);
+      markToolbarDirty();
+   }
+
+   /**
+    * Gets a {@link DrawerButton} for the passed in {@link DrawerNode}. Reuses
+    * a spare button if one is available.
+    */
+   private DrawerButton acquireButton(final DrawerNode node) {
+      final DrawerButton spare = spareButtons.poll();
+      if (spare != null) {
+         spare.bind(node);
+         return spare;
       }
 
-      toolbarHbox.getChildren().add(index, createButton(node));
+      return new DrawerButton(node);
    }
 
    /**
-    * Creates a {@link ToggleButton} for the passed in {@link DrawerNode}.
+    * Removes a {@link DrawerButton} from the toolbar and keeps it for reuse.
     */
-   private ToggleButton createButton(final DrawerNode node) {
-      final ToggleButton button = new ToggleButton(node.getTitle());
-      button.setUserData(node);
-      button.setSelected(node.isVisible());
-      button.selectedProperty().addListener(new ButtonChangeListener(node));
-      button.setOnDragDetected(new ButtonDragDetectedHandler(button, node));
-      button.setOnDragDone(new ButtonDragDoneHandler(button, node));
-      // TODO: Setting focus traversable to false because pressing button
-      // in non-focused toolbar is not resulting in the select action. Turning
-      // off focus traversable works around this issue.
-      button.setFocusTraversable(false);
-      button.getStyleClass().add(isHorizontal()
-         ? "drawerpanefx-horizontal-button"
-         : "drawerpanefx-vertical-button");
+   private void releaseButton(final DrawerButton button) {
+      toolbarHbox.getChildren().remove(button);
+      button.bind(null);
+      if (spareButtons.size() < MAX_SPARE_BUTTONS) {
+         spareButtons.push(button);
+      }
+   }
 
-      if (node.canFloat()) {
-         button.setContextMenu(createButtonContextMenu(node));
+   /**
+    * Show/hide button for a {@link DrawerNode}. A button can be rebound
+    * to another {@link DrawerNode} when the toolbar is virtualized, so
+    * the handlers look up the bound {@link DrawerNode} when invoked.
+    */
+   private class DrawerButton extends ToggleButton {
+      private DrawerNode node;
+      // Created when first bound to a node that can float.
+      private ContextMenu contextMenu;
+      private CheckMenuItem floatingMenuItem;
+
+      DrawerButton(final DrawerNode node) {
+         selectedProperty().addListener(new ButtonChangeListener(this));
+         setOnDragDetected(new ButtonDragDetectedHandler(this));
+         setOnDragDone(new ButtonDragDoneHandler(this));
+         // TODO: Setting focus traversable to false because pressing button
+         // in non-focused toolbar is not resulting in the select action. Turning
+         // off focus traversable works around this issue.
+         setFocusTraversable(false);
+         getStyleClass().add(isHorizontal()
+            ? "drawerpanefx-horizontal-button"
+            : "drawerpanefx-vertical-button");
+         setOnMouseEntered(event -> hoverStarted(getNode()));
+         setOnMouseExited(event -> hoverEnded());
+         addEventHandler(MouseEvent.MOUSE_PRESSED, event -> hoverEnded());
+
+         bind(node);
       }
 
-      if (node.getIcon() != null) {
-         button.setGraphic(new ImageView(node.getIcon()));
+      /**
+       * The {@link DrawerNode} this button is bound to. Null if a spare.
+       */
+      DrawerNode getNode() {
+         return node;
       }
 
-      return button;
+      /**
+       * Bind this button to the passed in {@link DrawerNode}. Null to unbind.
+       */
+      void bind(final DrawerNode node) {
+         this.node = node;
+
+         bindingButton = true;
+         try {
+            setUserData(node);
+            setText(node == null ? null : node.getTitle());
+            setGraphic(node == null || node.getIcon() == null ? null : new ImageView(node.getIcon()));
+            setSelected(node != null && node.isVisible());
+            setDisable(node != null && node.isDisable());
+
+            if (node != null && node.canFloat()) {
+               if (contextMenu == null) {
+                  floatingMenuItem = new CheckMenuItem(resourceBundle.getString("floatingmode.menuitem.txt"));
+                  floatingMenuItem.selectedProperty().addListener(new FloatingMenuItemChangeListener(this));
+                  contextMenu = new ContextMenu(floatingMenuItem);
+               }
+               floatingMenuItem.setSelected(node.isFloating());
+               setContextMenu(contextMenu);
+            } else {
+               setContextMenu(null);
+            }
+         } finally {
+            bindingButton = false;
+         }
+      }
    }
 
    /**
@@ -335,16 +767,21 @@ abstract class AbstractSide extends Pane {
     * related {@link DrawerNode} within this side.
     */
    private class ButtonChangeListener implements ChangeListener<Boolean> {
-      private final DrawerNode node;
+      private final DrawerButton button;
 
-      ButtonChangeListener(final DrawerNode node) {
-         this.node = node;
+      ButtonChangeListener(final DrawerButton button) {
+         this.button = button;
       }
 
       @Override
       public void changed(final ObservableValue<? extends Boolean> observable,
                           final Boolean oldValue,
                           final Boolean newValue) {
+         final DrawerNode node = button.getNode();
+         if (bindingButton || node == null) {
+            return;
+         }
+
          if (newValue) {
             if (node.isFloating()) {
                floatWindow(node);
@@ -362,30 +799,37 @@ abstract class AbstractSide extends Pane {
     * {@link DrawerNode}. Used to start the JFX drag/drop.
     */
    private class ButtonDragDetectedHandler implements EventHandler<MouseEvent> {
-      private final ToggleButton button;
-      private final DrawerNode node;
+      private final DrawerButton button;
+      // Created on the first drag of the button.
+      private DragViewCache dragViewCache;
 
-      ButtonDragDetectedHandler(final ToggleButton button,
-                                final DrawerNode node) {
+      ButtonDragDetectedHandler(final DrawerButton button) {
          this.button = button;
-         this.node = node;
       }
 
       @Override
       public void handle(final MouseEvent event) {
          logger.debug("Handling DragDetected event");
 
+         final DrawerNode node = button.getNode();
+         if (node == null) {
+            return;
+         }
+
          final Dragboard db = button.startDragAndDrop(TransferMode.MOVE);
          final ClipboardContent clipboardContent = new ClipboardContent();
          clipboardContent.put(DrawerDataFormat.CLIPBOARD_CONTENT_FORMAT, "foo");
-         final SnapshotParameters snapshotParameters = new SnapshotParameters();
-         snapshotParameters.setTransform(new Rotate(getRotation()));
+         if (dragViewCache == null) {
+            dragViewCache = new DragViewCache(button, dragViewParameters);
+         }
          db.setContent(clipboardContent);
-         db.setDragView(button.snapshot(snapshotParameters, null));
+         db.setDragView(dragViewCache.getDragView());
          dragState.setDraggedNode(node);
-         dragState.setInitialPosition(toolbarHbox.getChildren().indexOf(button));
+         dragState.setInitialPosition(nodes.indexOf(node));
 
          toolbarHbox.getChildren().remove(button);
+         buttons.remove(node);
+         nodes.remove(node);
 
          event.consume();
       }
@@ -398,98 +842,157 @@ abstract class AbstractSide extends Pane {
     * moved within this side.
     */
    private class ButtonDragDoneHandler implements EventHandler<DragEvent> {
-      private final ToggleButton button;
-      private final DrawerNode node;
+      private final DrawerButton button;
 
-      ButtonDragDoneHandler(final ToggleButton button,
-                            final DrawerNode node) {
+      ButtonDragDoneHandler(final DrawerButton button) {
          this.button = button;
-         this.node = node;
       }
 
       @Override
       public void handle(final DragEvent event) {
-          if (!TransferMode.MOVE.equals(event.getTransferMode())) {
-             logger.debug("Handling DragDone event - not dropped");
-             handleNotDropped();
-          } else {
-             logger.debug("Handling DragDone event - dropped");
-             handleDropped();
-          }
+         final DrawerNode node = button.getNode();
+         if (node == null) {
+            return;
+         }
+
+         if (!TransferMode.MOVE.equals(event.getTransferMode())) {
+            logger.debug("Handling DragDone event - not dropped");
+            handleNotDropped(node);
+         } else {
+            logger.debug("Handling DragDone event - dropped");
+            handleDropped(node);
+         }
       }
 
-      private void handleDropped() {
+      private void handleDropped(final DrawerNode node) {
          // Delete the node if the node was moved into another side.
-         if (!findButton(node).isPresent()){
-            splitPane.getItems().remove(node);
+         if (registry.getSide(node) != AbstractSide.this) {
+            getDockedItems().remove(node);
          }
+
+         // The dropped node was given a new button.
+         releaseButton(button);
       }
 
-      private void handleNotDropped() {
+      private void handleNotDropped(final DrawerNode node) {
          // Not dropped on a toolbar...
          // add the button back to the toolbar.
+         dragState.setDraggedNode(null);
          toolbarHbox.getChildren().add(dragState.getInitialPosition(), button);
+         nodes.add(dragState.getInitialPosition(), node);
+         buttons.put(node, button);
+         markToolbarDirty();
 
          // If the node canFloat, and not dropped on a toolbar then
          // float the node.
          if (node.canFloat()) {
-            button.getContextMenu().getItems().stream()
-               .filter(menuItem -> menuItem.getText().equals(resourceBundle.getString("floatingmode.menuitem.txt")))
-               .findFirst()
-               .ifPresent(menuItem -> ((CheckMenuItem)menuItem).setSelected(true));
+            button.floatingMenuItem.setSelected(true);
          }
       }
    }
 
    /**
-    * Creates a {@link ContextMenu} for a drawer button.
+    * {@link ChangeListener} for the floating mode menu item of a drawer
+    * button. Used to float/dock the related {@link DrawerNode}.
     */
-   private ContextMenu createButtonContextMenu(final DrawerNode node) {
-      final CheckMenuItem floatingMenuItem
-         = new CheckMenuItem(resourceBundle.getString("floatingmode.menuitem.txt"));
+   private class FloatingMenuItemChangeListener implements ChangeListener<Boolean> {
+      private final DrawerButton button;
 
-      floatingMenuItem.setSelected(node.isFloating());
-      floatingMenuItem.selectedProperty()
-         .addListener((observable, oldValue, newValue) -> {
-            floatingSelectedChanged = !newValue;
+      FloatingMenuItemChangeListener(final DrawerButton button) {
+         this.button = button;
+      }
 
-            if (oldValue == newValue) {
-               return;
-            }
+      @Override
+      public void changed(final ObservableValue<? extends Boolean> observable,
+                          final Boolean oldValue,
+                          final Boolean newValue) {
+         final DrawerNode node = button.getNode();
+         if (bindingButton || node == null) {
+            return;
+         }
 
-            if (node.isFloating()) {
-               closeFloatingWindow(node);
-            }
+         floatingSelectedChanged = !newValue;
 
-            node.setFloating(newValue);
+         if (oldValue == newValue) {
+            return;
+         }
 
-            findButton(node).ifPresent(toggleButton -> {
-               if (toggleButton.isSelected()) {
-                  showNodeInternal(node);
-               }
-            });
+         changeFloating(node, newValue);
+      }
+   }
 
-            floatingSelectedChanged = false;
-         });
+   /**
+    * Float/dock a {@link DrawerNode}. Keeps the floating mode menu item of the
+    * {@link DrawerNode}'s button - if any - in sync.
+    */
+   void setFloating(final DrawerNode node,
+                    final boolean floating) {
+      if (node.isFloating() == floating) {
+         return;
+      }
+
+      final DrawerButton button = findButton(node);
+      if (button != null && button.floatingMenuItem != null) {
+         button.floatingMenuItem.setSelected(floating);
+      } else {
+         floatingSelectedChanged = !floating;
+         changeFloating(node, floating);
+      }
+   }
+
+   /**
+    * Float/dock a {@link DrawerNode}, re-showing it in the new mode if open.
+    */
+   private void changeFloating(final DrawerNode node,
+                               final boolean floating) {
+      if (node.isFloating()) {
+         closeFloatingWindow(node);
+      }
 
+      node.setFloating(floating);
+      registry.getModel().setFloating(node, floating);
 
-      final ContextMenu contextMenu = new ContextMenu();
-      contextMenu.getItems().addAll(floatingMenuItem);
-      return contextMenu;
+      if (isOpen(node)) {
+         showNodeInternal(node);
+      }
+
+      floatingSelectedChanged = false;
+      registry.fireChanged();
    }
 
    void showNode(final DrawerNode node) {
-      if (node == null) {
+      if (node == null || node.isDisable()) {
          return;
       }
 
-      findButton(node).ifPresent(button -> {
-         if (button.isDisabled()) {
-            return;
+      final long start = metrics.start();
+      setOpen(node, true);
+      metrics.record(DrawerPaneMetrics.Operation.SHOW, start);
+   }
+
+   /**
+    * True if the passed in {@link DrawerNode} is open (docked or floating).
+    */
+   boolean isOpen(final DrawerNode node) {
+      return registry.getModel().isOpen(node);
+   }
 
+   /**
+    * Open/close a {@link DrawerNode}. Goes through the {@link DrawerNode}'s
+    * button, if it has one, so that the button stays in sync.
+    */
+   private void setOpen(final DrawerNode node,
+                        final boolean open) {
+      final DrawerButton button = findButton(node);
+      if (button != null) {
+         button.setSelected(open);
+      } else if (open != node.isVisible()) {
+         if (open) {
+            showNodeInternal(node);
+         } else {
+            hideNodeInternal(node);
          }
-         button.setSelected(true);
-      });
+      }
    }
 
    /**
@@ -508,26 +1011,139 @@ abstract class AbstractSide extends Pane {
     * Float a {@link DrawerNode} within its own window.
     */
    private void floatWindow(final DrawerNode node) {
-      node.setVisible(true);
-      splitPane.getItems().remove(node);
-      final Stage floatingWindow = new FloatingWindowBuilder().create(getScene().getWindow(), node);
-      node.getFloatingX().ifPresent(floatingWindow::setX);
-      node.getFloatingY().ifPresent(floatingWindow::setY);
-      floatingWindow.setOnCloseRequest(event -> {
-         if (!floatingSelectedChanged) {
-            findButton(node).ifPresent(toggleButton -> toggleButton.setSelected(false));
+      final long start = metrics.start();
+      try {
+         registry.getModel().setOpen(node, true);
+         node.setVisible(true);
+         getDockedItems().remove(node);
+         registry.fireChanged();
+
+         if (isInternalFloating(node)) {
+            node.buildContents();
+            internalWindows.show(node, () -> {
+               // Look up the owning side, as the node may have moved since floating.
+               final AbstractSide side = registry.getSide(node);
+               if (side != null) {
+                  side.floatingWindowClosed(node);
+               }
+            });
+            node.setVisibility(DrawerVisibility.FLOATING);
+            registry.markUsed(node);
+            return;
+         }
+
+         final Window owner = getScene() == null ? null : getScene().getWindow();
+         if (owner == null || !owner.isShowing()) {
+            // Float once the owning window is showing, so the floating window
+            // is owned by (and shown after) the application's window.
+            pendingFloats.add(node);
+            watchOwnerWindow(true);
+            return;
          }
 
-         final Pane parent = (Pane) node.getParent();
-         if (parent != null) {
-            parent.getChildren().clear();
+         node.buildContents();
+         final Stage floatingWindow = floatingWindows.create(owner, node);
+         node.getFloatingX().ifPresent(floatingWindow::setX);
+         node.getFloatingY().ifPresent(floatingWindow::setY);
+         floatingWindow.setOnCloseRequest(event -> {
+            // Look up the owning side, as the node may have moved since floating.
+            final AbstractSide side = registry.getSide(node);
+            if (side != null) {
+               side.floatingWindowClosed(node);
+            }
+
+            floatingWindows.release(node);
+         });
+         floatingWindow.show();
+         registry.markUsed(node);
+         node.setVisibility(floatingWindow.isIconified()
+            ? DrawerVisibility.MINIMIZED
+            : DrawerVisibility.FLOATING);
+      } finally {
+         metrics.record(DrawerPaneMetrics.Operation.FLOAT, start);
+      }
+   }
+
+   /**
+    * True if the passed in {@link DrawerNode} floats within an internal
+    * window, rather than its own native window.
+    */
+   private boolean isInternalFloating(final DrawerNode node) {
+      return node.getFloatingMode().orElse(floatingMode) == FloatingMode.INTERNAL;
+   }
+
+   /**
+    * Floating mode of the drawers that do not set their own floating mode.
+    * Applies to drawers floated from now on.
+    */
+   void setFloatingMode(final FloatingMode floatingMode) {
+      this.floatingMode = floatingMode;
+   }
+
+   /**
+    * Float the {@link DrawerNode}s that are waiting for this side's window,
+    * if the window is now showing. Otherwise, watch the window (or the
+    * scene/window that this side is later added to).
+    */
+   private void floatPendingWhenShowing() {
+      final Window owner = getScene() == null ? null : getScene().getWindow();
+      if (owner == null || !owner.isShowing()) {
+         watchOwnerWindow(true);
+         return;
+      }
+
+      watchOwnerWindow(false);
+      // Float after the window has finished showing.
+      Platform.runLater(() -> {
+         final List<DrawerNode> pending = new ArrayList<>(pendingFloats);
+         pendingFloats.clear();
+         for (DrawerNode node : pending) {
+            // Skip nodes that were hidden, docked or removed while waiting.
+            final AbstractSide side = registry.getSide(node);
+            if (side != null && node.isVisible() && node.isFloating()
+               && node.getParent() == null) {
+               side.floatWindow(node);
+            }
          }
       });
-      floatingWindow.xProperty().addListener((observable, oldValue, newValue)
-         -> node.setFloatingX(newValue.doubleValue()));
-      floatingWindow.yProperty().addListener((observable, oldValue, newValue)
-         -> node.setFloatingY(newValue.doubleValue()));
-      floatingWindow.show();
+   }
+
+   /**
+    * Start/stop listening for this side's scene, window and window showing
+    * changes.
+    */
+   private void watchOwnerWindow(final boolean watch) {
+      sceneProperty().removeListener(ownerWindowListener);
+      if (watchedScene != null) {
+         watchedScene.windowProperty().removeListener(ownerWindowListener);
+      }
+      if (watchedWindow != null) {
+         watchedWindow.showingProperty().removeListener(ownerWindowListener);
+      }
+
+      watchedScene = watch ? getScene() : null;
+      watchedWindow = watchedScene == null ? null : watchedScene.getWindow();
+
+      if (watch) {
+         sceneProperty().addListener(ownerWindowListener);
+      }
+      if (watchedScene != null) {
+         watchedScene.windowProperty().addListener(ownerWindowListener);
+      }
+      if (watchedWindow != null) {
+         watchedWindow.showingProperty().addListener(ownerWindowListener);
+      }
+   }
+
+   /**
+    * Called when the floating window of a {@link DrawerNode} within this
+    * side is closing. Closes the {@link DrawerNode} - unless the window is
+    * closing because the {@link DrawerNode} is being docked.
+    */
+   private void floatingWindowClosed(final DrawerNode node) {
+      if (!floatingSelectedChanged) {
+         setOpen(node, false);
+      }
    }
 
    /**
@@ -535,25 +1151,43 @@ abstract class AbstractSide extends Pane {
     * the appropriate location.
     */
    private void dockWindow(final DrawerNode node) {
+      final long start = metrics.start();
+      registry.getModel().setOpen(node, true);
       closeFloatingWindow(node);
 
       if (!allowMultipleOpenDrawers) {
-         splitPane.getItems().clear();
-         // Toggle buttons off.
-         final Optional<ToggleButton> nodeButton = findButton(node);
-         toolbarHbox.getChildren()
-            .stream()
-            .filter(btn -> !nodeButton.map(nodeBtn -> nodeBtn.equals(btn)).orElse(false)
-               && !((DrawerNode)btn.getUserData()).isFloating())
-            .forEach(btn -> ((ToggleButton)btn).setSelected(false));
+         closeDockedDrawers(node);
       }
 
+      node.buildContents();
       node.setVisible(true);
-      splitPane.getItems().add(findInsertPosition(node), node);
+      getDockedItems().add(findInsertPosition(node), node);
+      registry.markUsed(node);
+      registry.fireChanged();
+      metrics.record(DrawerPaneMetrics.Operation.DOCK, start);
+   }
+
+   /**
+    * Close all of the docked drawers, other than the passed in
+    * {@link DrawerNode}, and toggle their buttons off. Used when only a
+    * single open drawer is allowed.
+    */
+   private void closeDockedDrawers(final DrawerNode keepOpen) {
+      final List<Node> dockedItems = getDockedItems();
+      final List<Node> docked = new ArrayList<>(dockedItems);
+      dockedItems.retainAll(Collections.singleton(keepOpen));
+
+      for (Node dockedNode : docked) {
+         if (dockedNode != keepOpen) {
+            setOpen((DrawerNode)dockedNode, false);
+         }
+      }
    }
 
    void hideNode(final DrawerNode node) {
-      findButton(node).ifPresent(button -> button.setSelected(false));
+      final long start = metrics.start();
+      setOpen(node, false);
+      metrics.record(DrawerPaneMetrics.Operation.HIDE, start);
    }
 
    /**
@@ -561,18 +1195,33 @@ abstract class AbstractSide extends Pane {
     * already unselected.
     */
    private void hideNodeInternal(final DrawerNode node) {
-      closeFloatingWindow(node);
+      registry.getModel().setOpen(node, false);
+
+      // Before hiding, so that the node is within the slide out snapshot.
+      slideOutIfLast(node);
 
+      // Hide before closing the floating window, as the window's close
+      // handler closes the node as well.
       node.setVisible(false);
-      splitPane.getItems().remove(node);
+      node.cancelContentsBuild();
+      closeFloatingWindow(node);
+      getDockedItems().remove(node);
+      node.setVisibility(DrawerVisibility.HIDDEN);
+      registry.fireChanged();
    }
 
    /**
     * Close a {@link DrawerNode}'s floating window - if necessary.
     */
    private void closeFloatingWindow(DrawerNode node) {
-      if (node.isFloating() && node.getScene() != null) {
-         final Window stage = node.getScene().getWindow();
+      if (!node.isFloating()) {
+         return;
+      }
+
+      if (internalWindows.isShowing(node)) {
+         internalWindows.close(node);
+      } else if (node.getScene() != null) {
+         final Window stage = node.getScene().getWindow();
          stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_CLOSE_REQUEST));
       }
    }
@@ -583,19 +1232,20 @@ abstract class AbstractSide extends Pane {
    public void disable(final DrawerNode node,
                        final boolean disable) {
       node.setDisable(disable);
-      findButton(node).ifPresent(b -> b.setDisable(disable));
+      registry.getModel().setDisabled(node, disable);
+      final DrawerButton button = findButton(node);
+      if (button != null) {
+         button.setDisable(disable);
+      }
+      registry.fireChanged();
    }
 
    /**
-    * Find a button within this side's buttons.
+    * Find a button within this side's buttons. Null if the
+    * {@link DrawerNode} does not have a button within this side.
     */
-   private Optional<ToggleButton> findButton(final DrawerNode node) {
-      final List<Node> buttons = toolbarHbox.getChildren();
-      return buttons.stream()
-         .filter(obj -> obj instanceof ToggleButton)
-         .filter(button -> button.getUserData().equals(node))
-         .map(button -> (ToggleButton)button)
-         .findFirst();
+   DrawerButton findButton(final DrawerNode node) {
+      return buttons.get(node);
    }
 
    /**
@@ -606,28 +1256,97 @@ abstract class AbstractSide extends Pane {
          return;
       }
 
-      findButton(node)
-         .ifPresent(button -> {
-            toolbarHbox.getChildren().remove(button);
-            closeFloatingWindow(node);
-            splitPane.getItems().remove(node);
-         });
+      final long start = metrics.start();
+      if (nodes.remove(node)) {
+         warmedNodes.remove(node);
+         final DrawerButton button = buttons.remove(node);
+         if (button != null) {
+            releaseButton(button);
+         }
+         closeFloatingWindow(node);
+         floatingWindows.dispose(node);
+         node.cancelContentsBuild();
+         getDockedItems().remove(node);
+         node.setVisibility(DrawerVisibility.HIDDEN);
+         registry.unregister(node, this);
+         markToolbarDirty();
+         metrics.record(DrawerPaneMetrics.Operation.REMOVE, start);
+      }
+   }
+
+   /**
+    * Remove a {@link DrawerNode} from this side, without closing it, so
+    * that it can be added to another side.
+    */
+   void detachNode(final DrawerNode node) {
+      if (nodes.remove(node)) {
+         warmedNodes.remove(node);
+         final DrawerButton button = buttons.remove(node);
+         if (button != null) {
+            releaseButton(button);
+         }
+         getDockedItems().remove(node);
+         registry.unregister(node, this);
+         markToolbarDirty();
+      }
+   }
+
+   /**
+    * Set the {@link DrawerNode}s of this side, in toolbar order. Adds
+    * {@link DrawerNode}s that are new to this side, and moves existing
+    * {@link DrawerNode}s that changed order, with a minimal set of changes to
+    * the toolbar and {@link SplitPane}. {@link DrawerNode}s that are within
+    * another side must first be detached from that side. {@link DrawerNode}s
+    * that are within this side, but not the passed in list, are removed.
+    */
+   void setNodes(final List<DrawerNode> order) {
+      for (DrawerNode node : new ArrayList<>(nodes)) {
+         if (!order.contains(node)) {
+            removeNode(node);
+         }
+      }
+
+      nodes.clear();
+      nodes.addAll(order);
+
+      for (DrawerNode node : order) {
+         if (registry.getSide(node) != this && node.isVisible() && !node.isFloating()) {
+            node.buildContents();
+         }
+      }
+      registry.registerAll(this, order);
+
+      if (hasButtonPerDrawer()) {
+         final List<Node> orderedButtons = new ArrayList<>(order.size());
+         for (DrawerNode node : order) {
+            DrawerButton button = buttons.get(node);
+            if (button == null) {
+               button = acquireButton(node);
+               buttons.put(node, button);
+            }
+            orderedButtons.add(button);
+         }
+         ListReconciler.reconcile(toolbarHbox.getChildren(), orderedButtons);
+      }
+
+      ListReconciler.reconcile(getDockedItems(), getDockedNodes());
+      markToolbarDirty();
+      registry.fireChanged();
    }
 
    /**
     * Determine the insert position for the {@link DrawerNode}
-    * based on the location of the associated {@link DrawerNode}'s button
-    * within the {@link ToolBar}.
+    * within the {@link SplitPane} based on the location of the
+    * {@link DrawerNode} within this side.
     */
-   private int findInsertPosition(final DrawerNode node) {
+   int findInsertPosition(final DrawerNode node) {
       int j = 0;
-      for (Node btn : toolbarHbox.getChildren()) {
-         final ToggleButton button = (ToggleButton)btn;
-         if (button.getUserData() == node) {
+      for (DrawerNode sideNode : nodes) {
+         if (sideNode == node) {
             return j;
          }
 
-         if (button.getUserData() != null && splitPane.getItems().contains(button.getUserData())) {
+         if (getDockedItems().contains(sideNode)) {
             j++;
          }
       }
@@ -638,49 +1357,47 @@ abstract class AbstractSide extends Pane {
    /**
     * Determine the insert position for the {@link DrawerNode}
     * based on the coordinates of the passed in {@link DragEvent}.
+    * The button midpoints are captured on the first call of a drag
+    * and reused until the drag exits or drops onto the toolbar.
     */
-   private int findInsertPosition(final DragEvent event) {
-      return isHorizontal()
-         ? findInsertPositionHorizontal(event)
-         : findInsertPositionVertical(event);
+   int findInsertPosition(final DragEvent event) {
+      if (!buttonMidpoints.isValid()) {
+         captureButtonMidpoints();
+      }
+
+      return buttonMidpoints.insertIndex(isHorizontal()
+         ? event.getSceneX()
+         : event.getSceneY());
    }
 
    /**
-    * Determine the insert position for the {@link DrawerNode}
-    * based on the coordinates of the passed in {@link DragEvent} if this is
-    * a horizontal side.
+    * Capture the scene coordinates of the center of each toolbar button.
+    * Also sizes the insertionSpacer to match the buttons.
     */
-   private int findInsertPositionHorizontal(final DragEvent event) {
-      final double x = event.getSceneX();
-      int i = 0;
-      for (Node node : toolbarHbox.getChildren()) {
-         if (node instanceof ToggleButton && centerOfButton((ToggleButton)node) > x) {
-            return i;
-         }
-
-         i++;
+   private void captureButtonMidpoints() {
+      removeInsertionSpacer();
+      if (canvasToolbar != null) {
+         canvasToolbar.captureMidpoints(buttonMidpoints);
+         return;
       }
 
-      return i;
-   }
+      // Make sure the buttons are positioned (e.g. after the dragged
+      // button was removed from this toolbar).
+      toolBar.layout();
 
-   /**
-    * Determine the insert position for the {@link DrawerNode}
-    * based on the coordinates of the passed in {@link DragEvent} if this is
-    * a vertical side.
-    */
-   private int findInsertPositionVertical(final DragEvent event) {
-      final double y = event.getSceneY();
-      int i = 0;
+      buttonMidpoints.startCapture();
+      boolean spacerSized = false;
       for (Node node : toolbarHbox.getChildren()) {
-         if (node instanceof ToggleButton && centerOfButton((ToggleButton)node) > y) {
-            return i;
-         }
+         if (node instanceof ToggleButton) {
+            final ToggleButton button = (ToggleButton)node;
+            buttonMidpoints.add(centerOfButton(button));
 
-         i++;
+            if (!spacerSized) {
+               insertionSpacer.setPrefWidth(button.getWidth());
+               spacerSized = true;
+            }
+         }
       }
-
-      return i;
    }
 
    /**
@@ -708,6 +1425,13 @@ abstract class AbstractSide extends Pane {
       return boundsInScene.getMinY() + (button.getWidth() / 2);
    }
 
+   /**
+    * {@link Position} of this side within the owning {@link DrawerPane}.
+    */
+   Position getPosition() {
+      return position;
+   }
+
    /**
     * True if this side is horizontal.
     */
@@ -725,9 +1449,599 @@ abstract class AbstractSide extends Pane {
    }
 
    List<DrawerNode> getNodes() {
-      return toolbarHbox.getChildren().stream()
-         .map(button -> (DrawerNode)button.getUserData())
-         .collect(Collectors.toList());
+      return new ArrayList<>(nodes);
+   }
+
+   /**
+    * Call to animate showing/hiding the drawers of this side.
+    */
+   void setAnimated(final boolean animated) {
+      this.animated = animated;
+      if (!animated) {
+         completeSlide();
+      }
+   }
+
+   /**
+    * Duration of the show/hide animation.
+    */
+   void setAnimationDuration(final Duration duration) {
+      this.animationDuration = duration;
+   }
+
+   /**
+    * Call to build and warm up a drawer's contents when the pointer rests
+    * on the drawer's toolbar entry, so that the drawer's first show is fast.
+    */
+   void setPrefetch(final boolean prefetch) {
+      this.prefetch = prefetch;
+      if (!prefetch) {
+         hoverEnded();
+      }
+   }
+
+   /**
+    * Called when the pointer enters the toolbar entry of a {@link DrawerNode}.
+    * Prefetches the {@link DrawerNode} if the pointer is still there after
+    * the prefetch delay.
+    */
+   private void hoverStarted(final DrawerNode node) {
+      hoverEnded();
+      if (!prefetch || node == null || node.getScene() != null || isWarm(node)) {
+         return;
+      }
+
+      if (prefetchTimer == null) {
+         prefetchTimer = new PauseTransition(PREFETCH_DELAY);
+         prefetchTimer.setOnFinished(event -> {
+            final DrawerNode candidate = prefetchCandidate;
+            prefetchCandidate = null;
+            warmNode(candidate);
+         });
+      }
+
+      prefetchCandidate = node;
+      prefetchTimer.playFromStart();
+   }
+
+   /**
+    * Called when the pointer leaves (or presses) a toolbar entry.
+    */
+   private void hoverEnded() {
+      prefetchCandidate = null;
+      if (prefetchTimer != null) {
+         prefetchTimer.stop();
+      }
+   }
+
+   /**
+    * True if the passed in {@link DrawerNode} has been warmed by {@link #warmNode(DrawerNode)}.
+    */
+   boolean isWarm(final DrawerNode node) {
+      return warmedNodes.contains(node);
+   }
+
+   /**
+    * Build the contents of a {@link DrawerNode}, and apply CSS (creating
+    * the skins of its controls) and lay it out at about the size that it
+    * will be shown at, within an off screen scene that has this side's
+    * style sheets. A NOOP if the {@link DrawerNode} is showing, or has
+    * moved to another side. If the contents are built on an executor, only
+    * the build is started.
+    */
+   void warmNode(final DrawerNode node) {
+      if (node == null || node.getScene() != null || registry.getSide(node) != this) {
+         return;
+      }
+
+      node.buildContents();
+      if (!node.isContentsBuilt()) {
+         return;
+      }
+
+      final long start = System.nanoTime();
+      final Group root = new Group();
+      if (warmUpScene == null) {
+         warmUpScene = new Scene(root);
+      } else {
+         warmUpScene.setRoot(root);
+      }
+      warmUpScene.getStylesheets().setAll(getScene() == null
+         ? Collections.emptyList()
+         : getScene().getStylesheets());
+      for (Parent parent = getParent(); parent != null; parent = parent.getParent()) {
+         root.getStylesheets().addAll(0, parent.getStylesheets());
+      }
+
+      root.getChildren().add(node);
+      try {
+         root.applyCss();
+
+         final OptionalDouble drawerSize = getDrawerSize();
+         final double width = isHorizontal()
+            ? getWidth()
+            : drawerSize.orElse(node.prefWidth(-1));
+         final double height = isHorizontal()
+            ? drawerSize.orElse(node.prefHeight(width))
+            : getHeight();
+         node.resize(width, height);
+         node.layout();
+      } finally {
+         root.getChildren().remove(node);
+         // Release the style sheets and node until the next warm up.
+         warmUpScene.setRoot(new Group());
+      }
+
+      warmedNodes.add(node);
+      logger.debug("Warmed {} in {}us", node.getTitle(), (System.nanoTime() - start) / 1000);
+   }
+
+   /**
+    * Number of docked (open, non-floating) drawers within this side.
+    */
+   int getDockedCount() {
+      return getDockedItems().size();
+   }
+
+   /**
+    * Number of open floating drawers within this side.
+    */
+   int getFloatingCount() {
+      int count = 0;
+      for (int i = 0; i < nodes.size(); i++) {
+         final DrawerNode node = nodes.get(i);
+         if (node.isFloating() && node.isVisible()) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Width (left/right) or height (top/bottom) of this side's open drawers.
+    * Empty if this side has not been resized.
+    */
+   OptionalDouble getDrawerSize() {
+      return registry.getModel().getSize(position);
+   }
+
+   /**
+    * Set the width (left/right) or height (top/bottom) of this side's open drawers.
+    */
+   void setDrawerSize(final double size) {
+      registry.getModel().setSize(position, size);
+      if (isHorizontal()) {
+         splitPane.setPrefHeight(size);
+      } else {
+         splitPane.setPrefWidth(size);
+      }
+   }
+
+   /**
+    * Divider positions between this side's open drawers.
+    */
+   double[] getDividerPositions() {
+      return splitPane.getDividerPositions();
+   }
+
+   /**
+    * Set the divider positions between this side's open drawers. A NOOP if
+    * the number of positions does not match the number of open drawers.
+    */
+   void setDividerPositions(final double[] positions) {
+      if (positions.length > 0 && positions.length == splitPane.getItems().size() - 1) {
+         splitPane.setDividerPositions(positions);
+      }
+   }
+
+   /**
+    * Call to only create buttons for the drawers that fit within the
+    * toolbar. The drawers that do not fit are listed within an overflow
+    * menu at the end of the toolbar.
+    */
+   void setVirtualized(final boolean virtualized) {
+      if (this.virtualized == virtualized) {
+         return;
+      }
+
+      this.virtualized = virtualized;
+      if (canvasToolbar != null) {
+         // Applied when the toolbar is no longer canvas rendered.
+         return;
+      }
+
+      if (virtualized) {
+         markToolbarDirty();
+      } else {
+         restoreButtons();
+      }
+   }
+
+   /**
+    * True if every drawer has a button. i.e. the toolbar is neither
+    * virtualized nor canvas rendered.
+    */
+   private boolean hasButtonPerDrawer() {
+      return !virtualized && canvasToolbar == null;
+   }
+
+   /**
+    * Back to a button for every drawer.
+    */
+   private void restoreButtons() {
+      toolbarHbox.getChildren().remove(overflowButton);
+      for (int i = 0; i < nodes.size(); i++) {
+         final DrawerNode node = nodes.get(i);
+         if (!buttons.containsKey(node)) {
+            final DrawerButton button = acquireButton(node);
+            toolbarHbox.getChildren().add(i, button);
+            buttons.put(node, button);
+         }
+      }
+      spareButtons.clear();
+   }
+
+   /**
+    * Call to draw the toolbar on a single canvas, rather than creating a
+    * button for each drawer. Drawers that do not fit within the toolbar
+    * are listed within an overflow menu.
+    */
+   void setCanvasRendered(final boolean canvasRendered) {
+      if ((canvasToolbar != null) == canvasRendered) {
+         return;
+      }
+
+      final ObservableList<Node> children = getPane().getChildren();
+      if (canvasRendered) {
+         for (DrawerButton button : new ArrayList<>(buttons.values())) {
+            releaseButton(button);
+         }
+         buttons.clear();
+         spareButtons.clear();
+         toolbarHbox.getChildren().remove(overflowButton);
+
+         canvasToolbar = createCanvasToolbar();
+         children.set(children.indexOf(toolBar), canvasToolbar);
+         registry.addChangeListener(canvasToolbarRedraw);
+      } else {
+         registry.removeChangeListener(canvasToolbarRedraw);
+         children.set(children.indexOf(canvasToolbar), toolBar);
+         canvasToolbar = null;
+         canvasMenu = null;
+
+         if (virtualized) {
+            markToolbarDirty();
+         } else {
+            restoreButtons();
+         }
+      }
+   }
+
+   private CanvasToolbar createCanvasToolbar() {
+      final CanvasToolbar toolbar = new CanvasToolbar(isHorizontal(),
+         Collections.unmodifiableList(nodes), this::isOpen);
+      if (isHorizontal()) {
+         toolbar.prefWidthProperty().bind(widthProperty());
+      } else {
+         toolbar.prefHeightProperty().bind(heightProperty());
+      }
+
+      toolbar.setOnMousePressed(event -> {
+         hoverEnded();
+         final int index = toolbar.entryAt(event.getX(), event.getY());
+         canvasPressedNode = index >= 0 ? nodes.get(index) : null;
+      });
+      toolbar.setOnMouseMoved(event -> {
+         final int index = toolbar.entryAt(event.getX(), event.getY());
+         final DrawerNode node = index >= 0 ? nodes.get(index) : null;
+         if (node == null) {
+            hoverEnded();
+         } else if (node != prefetchCandidate) {
+            hoverStarted(node);
+         }
+      });
+      toolbar.setOnMouseExited(event -> hoverEnded());
+      toolbar.setOnMouseClicked(new CanvasToolbarClickedHandler());
+      toolbar.setOnContextMenuRequested(event -> {
+         final int index = toolbar.entryAt(event.getX(), event.getY());
+         if (index >= 0 && nodes.get(index).canFloat()) {
+            showFloatingMenu(nodes.get(index), event.getScreenX(), event.getScreenY());
+         }
+         event.consume();
+      });
+      toolbar.setOnDragDetected(new CanvasToolbarDragDetectedHandler());
+      toolbar.setOnDragDone(new CanvasToolbarDragDoneHandler());
+      toolbar.setOnDragOver(new ToolbarDragOverHandler());
+      toolbar.setOnDragDropped(new ToolbarDragDroppedHandler());
+      toolbar.setOnDragExited(new ToolbarDragExitedHandler());
+      return toolbar;
+   }
+
+   /**
+    * {@link EventHandler} for mouse clicks on the canvas toolbar. Used to
+    * show/hide the clicked {@link DrawerNode}, or show the overflow menu.
+    */
+   private class CanvasToolbarClickedHandler implements EventHandler<MouseEvent> {
+      @Override
+      public void handle(final MouseEvent event) {
+         if (event.getButton() != MouseButton.PRIMARY || !event.isStillSincePress()) {
+            return;
+         }
+
+         final int index = canvasToolbar.entryAt(event.getX(), event.getY());
+         if (index == CanvasToolbar.OVERFLOW_ENTRY) {
+            showOverflowMenu(event.getScreenX(), event.getScreenY());
+         } else if (index >= 0 && nodes.get(index) == canvasPressedNode) {
+            final DrawerNode node = nodes.get(index);
+            if (!node.isDisable()) {
+               setOpen(node, !isOpen(node));
+            }
+         }
+
+         canvasPressedNode = null;
+         event.consume();
+      }
+   }
+
+   /**
+    * {@link EventHandler} for detecting a drag of an entry of the canvas
+    * toolbar. Used to start the JFX drag/drop.
+    */
+   private class CanvasToolbarDragDetectedHandler implements EventHandler<MouseEvent> {
+      @Override
+      public void handle(final MouseEvent event) {
+         logger.debug("Handling canvas toolbar DragDetected event");
+
+         final DrawerNode node = canvasPressedNode;
+         final int index = nodes.indexOf(node);
+         if (node == null || index < 0 || index >= canvasToolbar.getEntryCount()) {
+            return;
+         }
+
+         final Dragboard db = canvasToolbar.startDragAndDrop(TransferMode.MOVE);
+         final ClipboardContent clipboardContent = new ClipboardContent();
+         clipboardContent.put(DrawerDataFormat.CLIPBOARD_CONTENT_FORMAT, "foo");
+         db.setContent(clipboardContent);
+         db.setDragView(canvasToolbar.snapshotEntry(index));
+         dragState.setDraggedNode(node);
+         dragState.setInitialPosition(index);
+
+         canvasDraggedNode = node;
+         canvasPressedNode = null;
+         nodes.remove(node);
+         markToolbarDirty();
+
+         event.consume();
+      }
+   }
+
+   /**
+    * {@link EventHandler} to handle completion of a drag from the canvas
+    * toolbar. Same as {@link ButtonDragDoneHandler}, for the dragged entry.
+    */
+   private class CanvasToolbarDragDoneHandler implements EventHandler<DragEvent> {
+      @Override
+      public void handle(final DragEvent event) {
+         final DrawerNode node = canvasDraggedNode;
+         canvasDraggedNode = null;
+         if (node == null) {
+            return;
+         }
+
+         if (TransferMode.MOVE.equals(event.getTransferMode())) {
+            logger.debug("Handling canvas toolbar DragDone event - dropped");
+            // Delete the node if the node was moved into another side.
+            if (registry.getSide(node) != AbstractSide.this) {
+               getDockedItems().remove(node);
+            }
+         } else {
+            logger.debug("Handling canvas toolbar DragDone event - not dropped");
+            dragState.setDraggedNode(null);
+            nodes.add(dragState.getInitialPosition(), node);
+            markToolbarDirty();
+
+            // If the node canFloat, and not dropped on a toolbar then
+            // float the node.
+            if (node.canFloat()) {
+               setFloating(node, true);
+            }
+         }
+      }
+   }
+
+   /**
+    * Show the floating mode menu for a {@link DrawerNode} of the canvas toolbar.
+    */
+   private void showFloatingMenu(final DrawerNode node,
+                                 final double screenX,
+                                 final double screenY) {
+      final CheckMenuItem item = new CheckMenuItem(resourceBundle.getString("floatingmode.menuitem.txt"));
+      item.setSelected(node.isFloating());
+      item.setOnAction(event -> setFloating(node, item.isSelected()));
+      showCanvasMenu(Collections.singletonList(item), screenX, screenY);
+   }
+
+   /**
+    * Show a menu of the drawers that do not fit within the canvas toolbar.
+    */
+   private void showOverflowMenu(final double screenX,
+                                 final double screenY) {
+      final List<MenuItem> items = new ArrayList<>();
+      for (int i = canvasToolbar.getEntryCount(); i < nodes.size(); i++) {
+         items.add(createOverflowItem(nodes.get(i)));
+      }
+      showCanvasMenu(items, screenX, screenY);
+   }
+
+   private void showCanvasMenu(final List<MenuItem> items,
+                               final double screenX,
+                               final double screenY) {
+      if (canvasMenu == null) {
+         canvasMenu = new ContextMenu();
+         canvasMenu.setOnHidden(event -> canvasMenu.getItems().clear());
+      }
+
+      canvasMenu.hide();
+      canvasMenu.getItems().setAll(items);
+      canvasMenu.show(canvasToolbar, screenX, screenY);
+   }
+
+   /**
+    * Flag the virtualized or canvas toolbar as needing to be updated on
+    * the next layout.
+    */
+   private void markToolbarDirty() {
+      if (canvasToolbar != null) {
+         canvasToolbar.markDirty();
+      } else if (virtualized) {
+         toolbarDirty = true;
+         requestLayout();
+      }
+   }
+
+   @Override
+   protected void layoutChildren() {
+      if (virtualized && canvasToolbar == null) {
+         updateVirtualizedToolbar();
+      }
+
+      super.layoutChildren();
+
+      if (slideInPending) {
+         // The side has its new size. Lay out the side's pane now, rather
+         // than after this method returns, so the SplitPane has its new
+         // size when the slide starts.
+         slideInPending = false;
+         getPane().layout();
+         slide.play();
+      }
+   }
+
+   /**
+    * Create/bind buttons for the leading drawers that fit within the
+    * toolbar, and release the buttons of the drawers that no longer fit.
+    * A NOOP if neither the drawers nor the toolbar length have changed,
+    * or while a drag is in progress over the toolbar.
+    */
+   private void updateVirtualizedToolbar() {
+      final double length = getToolbarLength();
+      if ((!toolbarDirty && length == lastToolbarLength)
+         || buttonMidpoints.isValid()) {
+         return;
+      }
+
+      toolbarDirty = false;
+      lastToolbarLength = length;
+
+      final ObservableList<Node> children = toolbarHbox.getChildren();
+      final double spacing = toolbarHbox.getSpacing();
+      final double overflowLength = getOverflowButtonLength();
+
+      double used = 0;
+      int visibleCount = 0;
+      while (visibleCount < nodes.size()) {
+         final DrawerNode node = nodes.get(visibleCount);
+         DrawerButton button = buttons.get(node);
+         if (button == null) {
+            button = acquireButton(node);
+            buttons.put(node, button);
+         }
+
+         if (visibleCount >= children.size() || children.get(visibleCount) != button) {
+            children.remove(button);
+            children.add(visibleCount, button);
+            button.applyCss();
+         }
+
+         final boolean last = visibleCount == nodes.size() - 1;
+         final double buttonLength = button.prefWidth(-1);
+         if (used + buttonLength + (last ? 0 : spacing + overflowLength) > length) {
+            break;
+         }
+
+         used += buttonLength + spacing;
+         visibleCount++;
+      }
+
+      for (int i = visibleCount; i < nodes.size(); i++) {
+         final DrawerButton button = buttons.remove(nodes.get(i));
+         if (button != null) {
+            releaseButton(button);
+         }
+      }
+
+      if (visibleCount < nodes.size()) {
+         if (children.isEmpty() || children.get(children.size() - 1) != overflowButton) {
+            children.remove(overflowButton);
+            children.add(overflowButton);
+         }
+      } else if (overflowButton != null) {
+         children.remove(overflowButton);
+      }
+   }
+
+   /**
+    * Length of the toolbar that is available for buttons.
+    */
+   private double getToolbarLength() {
+      final Insets insets = toolBar.getInsets();
+      return isHorizontal()
+         ? getWidth() - insets.getLeft() - insets.getRight()
+         : getHeight() - insets.getTop() - insets.getBottom();
+   }
+
+   /**
+    * Length of the overflow button. Creates the overflow button if necessary.
+    */
+   private double getOverflowButtonLength() {
+      if (overflowButton == null) {
+         overflowButton = new MenuButton("\u00BB");
+         overflowButton.setFocusTraversable(false);
+         overflowButton.getStyleClass().addAll("drawerpanefx-overflow-button", isHorizontal()
+            ? "drawerpanefx-horizontal-button"
+            : "drawerpanefx-vertical-button");
+         overflowButton.setOnShowing(event -> populateOverflowMenu());
+         overflowButton.setOnHidden(event -> overflowButton.getItems().clear());
+      }
+
+      if (overflowButton.getParent() != null) {
+         overflowButtonLength = overflowButton.prefWidth(-1);
+      } else if (overflowButtonLength <= 0) {
+         // Measure with this side's styling applied.
+         toolbarHbox.getChildren().add(overflowButton);
+         overflowButton.applyCss();
+         overflowButtonLength = overflowButton.prefWidth(-1);
+         toolbarHbox.getChildren().remove(overflowButton);
+      }
+
+      return overflowButtonLength;
+   }
+
+   /**
+    * Fill the overflow menu with an item for each drawer without a button.
+    * The items are only created while the menu is showing.
+    */
+   private void populateOverflowMenu() {
+      overflowButton.getItems().clear();
+      for (DrawerNode node : nodes) {
+         if (buttons.containsKey(node)) {
+            continue;
+         }
+
+         overflowButton.getItems().add(createOverflowItem(node));
+      }
+   }
+
+   /**
+    * Overflow menu item to show/hide a {@link DrawerNode}.
+    */
+   private MenuItem createOverflowItem(final DrawerNode node) {
+      final CheckMenuItem item = new CheckMenuItem(node.getTitle(),
+         node.getIcon() == null ? null : new ImageView(node.getIcon()));
+      item.setSelected(isOpen(node));
+      item.setDisable(node.isDisable());
+      item.setOnAction(event -> setOpen(node, item.isSelected()));
+      return item;
    }
 
    private void initDivider() {
@@ -740,6 +2054,26 @@ abstract class AbstractSide extends Pane {
       }
    }
 
+   /**
+    * How this side is resized while the divider is dragged.
+    */
+   void setResizeMode(final DividerResizeMode resizeMode) {
+      this.resizeMode = resizeMode;
+   }
+
+   /**
+    * Call to constrain the width (left/right) or height (top/bottom) of
+    * this side's drawers when resized with the divider.
+    * @param minDrawerSize Min size of the drawers.
+    * @param maxPercentageOfScene Max size of the drawers as a percentage
+    *                             (0 - 1) of the scene's width/height.
+    */
+   void setDrawerSizeConstraints(final double minDrawerSize,
+                                 final double maxPercentageOfScene) {
+      this.minDrawerSize = minDrawerSize;
+      this.maxPercentageOfScene = maxPercentageOfScene;
+   }
+
    /**
     * Divider for dividing Side from Center of {@link DrawerPane}.
     * Includes mouse handling for resizing the Side.
@@ -751,22 +2085,26 @@ abstract class AbstractSide extends Pane {
             : "drawerpanefx-vertical-divider");
          setCursor(isHorizontal() ? Cursor.V_RESIZE : Cursor.H_RESIZE);
 
-         final EventHandler<MouseEvent> mouseHandler
-            = isHorizontal()
-               ? new MouseHandlerForHorizontal()
-               : new MouseHandlerForVertical();
-         setOnMouseMoved(mouseHandler);
+         final EventHandler<MouseEvent> mouseHandler = new DividerMouseHandler();
          setOnMouseDragged(mouseHandler);
          setOnMousePressed(mouseHandler);
          setOnMouseReleased(mouseHandler);
       }
 
       /**
-       * {@link EventHandler} for {@link SplitPane} mouse events if this is a vertical side.
-       * Used to allow resizing of side.
+       * {@link EventHandler} for divider mouse events. Used to allow resizing of side.
+       * In {@link DividerResizeMode#LIVE} mode, the size from the latest drag
+       * event is applied once per pulse. In {@link DividerResizeMode#GHOST} mode,
+       * an outline of the divider is dragged and the size is applied on release.
        */
-      private class MouseHandlerForVertical implements EventHandler<MouseEvent> {
+      private class DividerMouseHandler implements EventHandler<MouseEvent> {
          private boolean mousePressed = false;
+         // Size to apply on the next pulse (LIVE) or release (GHOST). NaN if none.
+         private double pendingSize = Double.NaN;
+         // Created on the first LIVE drag.
+         private AnimationTimer pulseTimer;
+         // Created on the first GHOST drag.
+         private Region ghost;
 
          @Override
          public void handle(final MouseEvent mouseEvent) {
@@ -774,47 +2112,104 @@ abstract class AbstractSide extends Pane {
                mousePressed = true;
             } else if (mouseEvent.getEventType().equals(MouseEvent.MOUSE_DRAGGED)
                && mousePressed) {
-               final Bounds bounds = Divider.this.localToScene(Divider.this.getLayoutBounds());
-               final double mouseX = mouseEvent.getSceneX();
-               final double xDelta = mouseX - bounds.getMinX();
-               final double updatedWidth = splitPane.getWidth() + xDelta
-                  * (Position.Right.equals(position) ? -1 : 1);
-
-               if (updatedWidth / splitPane.getScene().getWidth() <= MAX_PERCENTAGE_OF_SCENE) {
-                  splitPane.setPrefWidth(updatedWidth);
+               pendingSize = proposedSize(mouseEvent);
+               if (DividerResizeMode.GHOST.equals(resizeMode)) {
+                  moveGhost(pendingSize);
+               } else {
+                  startPulseTimer();
                }
-               //splitPane.setMinWidth(SPLITPANE_MIN_WIDTH);
-            } else if (mouseEvent.getEventType().equals(MouseEvent.MOUSE_RELEASED)) {
+            } else if (mouseEvent.getEventType().equals(MouseEvent.MOUSE_RELEASED)
+               && mousePressed) {
                mousePressed = false;
+               removeGhost();
+               if (pulseTimer != null) {
+                  pulseTimer.stop();
+               }
+               applyPendingSize();
+               registry.fireChanged();
             }
          }
-      }
 
-      /**
-       * {@link EventHandler} for {@link SplitPane} mouse events if this is a horizontal side.
-       * Used to allow resizing of side.
-       */
-      private class MouseHandlerForHorizontal implements EventHandler<MouseEvent> {
-         private boolean mousePressed = false;
+         /**
+          * Size of the drawers if the divider were moved to the location of
+          * the passed in event, constrained to the min/max drawer size.
+          */
+         private double proposedSize(final MouseEvent mouseEvent) {
+            final Bounds bounds = Divider.this.localToScene(Divider.this.getLayoutBounds());
+            final double size = isHorizontal()
+               ? splitPane.getHeight() + (mouseEvent.getSceneY() - bounds.getMinY())
+                  * (Position.Bottom.equals(position) ? -1 : 1)
+               : splitPane.getWidth() + (mouseEvent.getSceneX() - bounds.getMinX())
+                  * (Position.Right.equals(position) ? -1 : 1);
 
-         @Override
-         public void handle(final MouseEvent mouseEvent) {
-            if (mouseEvent.getEventType().equals(MouseEvent.MOUSE_PRESSED)) {
-               mousePressed = true;
-            } else if (mouseEvent.getEventType().equals(MouseEvent.MOUSE_DRAGGED)
-               && mousePressed) {
-               final Bounds bounds = Divider.this.localToScene(Divider.this.getLayoutBounds());
-               final double mouseY = mouseEvent.getSceneY();
-               final double yDelta = mouseY - bounds.getMinY();
-               final double updatedHeight = splitPane.getHeight() + yDelta
-                  * (Position.Bottom.equals(position) ? -1 : 1);
-
-               if (updatedHeight / splitPane.getScene().getHeight() <= MAX_PERCENTAGE_OF_SCENE) {
-                  splitPane.setPrefHeight(updatedHeight);
-               }
-               //splitPane.setMinWidth(SPLITPANE_MIN_WIDTH);
-            } else if (mouseEvent.getEventType().equals(MouseEvent.MOUSE_RELEASED)) {
-               mousePressed = false;
+            final Scene scene = splitPane.getScene();
+            final double maxSize = scene == null
+               ? Double.MAX_VALUE
+               : (isHorizontal() ? scene.getHeight() : scene.getWidth()) * maxPercentageOfScene;
+            return Math.max(minDrawerSize, Math.min(maxSize, size));
+         }
+
+         /**
+          * Apply the pending size - if any.
+          */
+         private void applyPendingSize() {
+            if (!Double.isNaN(pendingSize)) {
+               setDrawerSize(pendingSize);
+               pendingSize = Double.NaN;
+            }
+         }
+
+         /**
+          * Start applying the pending size once per pulse, so that a burst of
+          * drag events only results in a single layout per frame.
+          */
+         private void startPulseTimer() {
+            if (pulseTimer == null) {
+               pulseTimer = new AnimationTimer() {
+                  @Override
+                  public void handle(final long now) {
+                     applyPendingSize();
+                  }
+               };
+            }
+
+            pulseTimer.start();
+         }
+
+         /**
+          * Move the divider outline to where the divider will be for the
+          * passed in drawer size. The outline is not managed, so moving it
+          * does not result in a layout.
+          */
+         private void moveGhost(final double size) {
+            if (ghost == null) {
+               ghost = new Region();
+               ghost.getStyleClass().add("drawerpanefx-divider-ghost");
+               ghost.setManaged(false);
+               ghost.setMouseTransparent(true);
+            }
+
+            if (ghost.getParent() == null) {
+               // Allow the outline to extend past this side while dragging.
+               AbstractSide.this.setClip(null);
+               AbstractSide.this.getChildren().add(ghost);
+            }
+
+            final Bounds bounds = AbstractSide.this.sceneToLocal(
+               Divider.this.localToScene(Divider.this.getLayoutBounds()));
+            final double delta = isHorizontal()
+               ? (size - splitPane.getHeight()) * (Position.Bottom.equals(position) ? -1 : 1)
+               : (size - splitPane.getWidth()) * (Position.Right.equals(position) ? -1 : 1);
+            ghost.resizeRelocate(bounds.getMinX() + (isHorizontal() ? 0 : delta),
+               bounds.getMinY() + (isHorizontal() ? delta : 0),
+               bounds.getWidth(),
+               bounds.getHeight());
+         }
+
+         private void removeGhost() {
+            if (ghost != null && ghost.getParent() != null) {
+               AbstractSide.this.getChildren().remove(ghost);
+               AbstractSide.this.setClip(clipRectangle);
             }
          }
       }
@@ -0,0 +1,69 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.Arrays;
+
+/**
+ * Used to hold onto the scene coordinates of the centers of a side's
+ * toolbar buttons, along the toolbar's axis. The coordinates are captured
+ * once when a drag enters the toolbar, so that the insert position for a
+ * dragged {@link DrawerNode} can be found with a binary search instead of
+ * walking the toolbar on every drag over event.
+ */
+class ButtonMidpoints {
+   private double[] midpoints = new double[16];
+   private int size;
+   private boolean valid;
+
+   /**
+    * True if midpoints have been captured since the last call to {@link #invalidate()}.
+    */
+   boolean isValid() {
+      return valid;
+   }
+
+   /**
+    * Discard the captured midpoints.
+    */
+   void invalidate() {
+      size = 0;
+      valid = false;
+   }
+
+   /**
+    * Start a new capture. Midpoints must then be added in toolbar order.
+    */
+   void startCapture() {
+      size = 0;
+      valid = true;
+   }
+
+   /**
+    * Add the midpoint of the next button in toolbar order.
+    */
+   void add(final double midpoint) {
+      if (size == midpoints.length) {
+         midpoints = Arrays.copyOf(midpoints, size * 2);
+      }
+
+      midpoints[size++] = midpoint;
+   }
+
+   /**
+    * Index of the first button whose midpoint is beyond the passed in
+    * scene coordinate. i.e. the index to insert at if dropped at that coordinate.
+    */
+   int insertIndex(final double coordinate) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+         final int mid = (low + high) >>> 1;
+         if (midpoints[mid] > coordinate) {
+            high = mid;
+         } else {
+            low = mid + 1;
+         }
+      }
+
+      return low;
+   }
+}
@@ -0,0 +1,456 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.css.CssMetaData;
+import javafx.css.FontCssMetaData;
+import javafx.css.SimpleStyleableObjectProperty;
+import javafx.css.StyleConverter;
+import javafx.css.Styleable;
+import javafx.css.StyleableObjectProperty;
+import javafx.css.StyleableProperty;
+import javafx.geometry.Insets;
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Toolbar that draws the show/hide entries of a side's {@link DrawerNode}s
+ * on a single {@link Canvas}, rather than creating a button per
+ * {@link DrawerNode}. Used for sides with a large number of drawers,
+ * where the buttons' nodes dominate CSS and layout time.
+ * Entries that do not fit are replaced by an overflow entry at the end of
+ * the toolbar. The colors and font are set from CSS - see the
+ * drawerpanefx-canvas-toolbar style class. Mouse handling, other than
+ * hover, is left to the owning side, using {@link #entryAt(double, double)}.
+ */
+class CanvasToolbar extends Region {
+   static final int NO_ENTRY = -1;
+   static final int OVERFLOW_ENTRY = -2;
+
+   private static final double PADDING_ALONG = 8;
+   private static final double PADDING_ACROSS = 3;
+   private static final double ICON_GAP = 4;
+   private static final double INSERTION_WIDTH = 2;
+   private static final double DISABLED_OPACITY = 0.4;
+   private static final String OVERFLOW_TEXT = "\u00BB";
+
+   private static final CssMetaData<CanvasToolbar, Font> FONT =
+      new FontCssMetaData<CanvasToolbar>("-fx-font", Font.getDefault()) {
+         @Override
+         public boolean isSettable(final CanvasToolbar toolbar) {
+            return true;
+         }
+
+         @Override
+         public StyleableProperty<Font> getStyleableProperty(final CanvasToolbar toolbar) {
+            return toolbar.font;
+         }
+      };
+   private static final CssMetaData<CanvasToolbar, Paint> TEXT_FILL =
+      new PaintMetaData("-drawerpanefx-text-fill", Color.BLACK, toolbar -> toolbar.textFill);
+   private static final CssMetaData<CanvasToolbar, Paint> HOVER_FILL =
+      new PaintMetaData("-drawerpanefx-hover-fill", Color.LIGHTGRAY, toolbar -> toolbar.hoverFill);
+   private static final CssMetaData<CanvasToolbar, Paint> SELECTED_FILL =
+      new PaintMetaData("-drawerpanefx-selected-fill", Color.GRAY, toolbar -> toolbar.selectedFill);
+   private static final CssMetaData<CanvasToolbar, Paint> INSERTION_FILL =
+      new PaintMetaData("-drawerpanefx-insertion-fill", Color.DODGERBLUE, toolbar -> toolbar.insertionFill);
+   private static final List<CssMetaData<? extends Styleable, ?>> CSS_META_DATA;
+
+   static {
+      final List<CssMetaData<? extends Styleable, ?>> metaData = new ArrayList<>(Region.getClassCssMetaData());
+      metaData.addAll(Arrays.asList(FONT, TEXT_FILL, HOVER_FILL, SELECTED_FILL, INSERTION_FILL));
+      CSS_META_DATA = Collections.unmodifiableList(metaData);
+   }
+
+   private final boolean horizontal;
+   private final List<DrawerNode> nodes;
+   private final Predicate<DrawerNode> isOpen;
+   private final Canvas canvas = new Canvas();
+   // Used to measure the titles.
+   private final Text measureText = new Text();
+   // Length of each title, cleared when the font changes.
+   private final Map<DrawerNode, Double> titleLengths = new IdentityHashMap<>();
+
+   private final StyleableObjectProperty<Font> font = new SimpleStyleableObjectProperty<Font>(FONT, this, "font", Font.getDefault()) {
+      @Override
+      protected void invalidated() {
+         titleLengths.clear();
+         requestLayout();
+         markDirty();
+      }
+   };
+   private final StyleableObjectProperty<Paint> textFill = paintProperty(TEXT_FILL, "textFill");
+   private final StyleableObjectProperty<Paint> hoverFill = paintProperty(HOVER_FILL, "hoverFill");
+   private final StyleableObjectProperty<Paint> selectedFill = paintProperty(SELECTED_FILL, "selectedFill");
+   private final StyleableObjectProperty<Paint> insertionFill = paintProperty(INSERTION_FILL, "insertionFill");
+
+   // Start of each drawn entry along the toolbar, plus the end of the last
+   // drawn entry. i.e. entry i spans starts[i] to starts[i + 1].
+   private double[] starts = new double[17];
+   private int entryCount;
+   private boolean overflow;
+   private double thickness;
+   private int hoverIndex = NO_ENTRY;
+   private int insertionIndex = NO_ENTRY;
+   private boolean dirty = true;
+
+   /**
+    * @param horizontal True for a Top/Bottom toolbar. False for a Left/Right toolbar,
+    *                   where the entries are drawn rotated 90 degrees.
+    * @param nodes The side's {@link DrawerNode}s in toolbar order. Read, not modified.
+    * @param isOpen Tests if a {@link DrawerNode} is open - drawn as selected.
+    */
+   CanvasToolbar(final boolean horizontal,
+                 final List<DrawerNode> nodes,
+                 final Predicate<DrawerNode> isOpen) {
+      this.horizontal = horizontal;
+      this.nodes = nodes;
+      this.isOpen = isOpen;
+
+      getStyleClass().addAll("drawerpanefx-canvas-toolbar", horizontal
+         ? "drawerpanefx-horizontal-toolbar"
+         : "drawerpanefx-vertical-toolbar");
+      getChildren().add(canvas);
+
+      addEventHandler(MouseEvent.MOUSE_MOVED, event -> setHoverIndex(entryAt(event.getX(), event.getY())));
+      addEventHandler(MouseEvent.MOUSE_EXITED, event -> setHoverIndex(NO_ENTRY));
+   }
+
+   private StyleableObjectProperty<Paint> paintProperty(final CssMetaData<CanvasToolbar, Paint> metaData,
+                                                        final String name) {
+      return new SimpleStyleableObjectProperty<Paint>(metaData, this, name, metaData.getInitialValue(this)) {
+         @Override
+         protected void invalidated() {
+            markDirty();
+         }
+      };
+   }
+
+   public static List<CssMetaData<? extends Styleable, ?>> getClassCssMetaData() {
+      return CSS_META_DATA;
+   }
+
+   @Override
+   public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+      return getClassCssMetaData();
+   }
+
+   /**
+    * Redraw on the next layout - called when the {@link DrawerNode}s, or
+    * their open/disabled/floating states, change.
+    */
+   void markDirty() {
+      dirty = true;
+      requestLayout();
+   }
+
+   /**
+    * Draw an insertion marker before the entry at the passed in index.
+    * {@link #NO_ENTRY} to remove the marker.
+    */
+   void setInsertionIndex(final int index) {
+      if (index != insertionIndex) {
+         insertionIndex = index;
+         markDirty();
+      }
+   }
+
+   private void setHoverIndex(final int index) {
+      if (index != hoverIndex) {
+         hoverIndex = index;
+         markDirty();
+      }
+   }
+
+   /**
+    * Number of {@link DrawerNode}s that have an entry drawn - the leading
+    * {@link DrawerNode}s that fit within the toolbar.
+    */
+   int getEntryCount() {
+      return entryCount;
+   }
+
+   /**
+    * Index of the entry at the passed in local coordinates. {@link #OVERFLOW_ENTRY}
+    * if over the overflow entry. {@link #NO_ENTRY} if not over an entry.
+    */
+   int entryAt(final double x,
+               final double y) {
+      final Insets insets = getInsets();
+      final double along = horizontal ? x - insets.getLeft() : y - insets.getTop();
+      final double across = horizontal ? y - insets.getTop() : x - insets.getLeft();
+      final int count = entryCount + (overflow ? 1 : 0);
+      if (along < 0 || across < 0 || across > thickness || count == 0 || along >= starts[count]) {
+         return NO_ENTRY;
+      }
+
+      int index = Arrays.binarySearch(starts, 0, count + 1, along);
+      if (index < 0) {
+         index = -index - 2;
+      }
+
+      return index == entryCount ? OVERFLOW_ENTRY : index;
+   }
+
+   /**
+    * Capture the scene coordinates of the centers of the drawn entries.
+    */
+   void captureMidpoints(final ButtonMidpoints midpoints) {
+      layoutEntries();
+
+      final Insets insets = getInsets();
+      midpoints.startCapture();
+      for (int i = 0; i < entryCount; i++) {
+         final double mid = (starts[i] + starts[i + 1]) / 2;
+         midpoints.add(horizontal
+            ? localToScene(insets.getLeft() + mid, 0).getX()
+            : localToScene(0, insets.getTop() + mid).getY());
+      }
+   }
+
+   /**
+    * Image of the entry at the passed in index, as drawn. Used as a drag view.
+    */
+   Image snapshotEntry(final int index) {
+      final double start = starts[index];
+      final double length = starts[index + 1] - start;
+      final SnapshotParameters parameters = new SnapshotParameters();
+      parameters.setFill(Color.TRANSPARENT);
+      parameters.setViewport(horizontal
+         ? new Rectangle2D(start, 0, length, thickness)
+         : new Rectangle2D(0, start, thickness, length));
+      return canvas.snapshot(parameters, (WritableImage)null);
+   }
+
+   @Override
+   protected double computePrefWidth(final double height) {
+      final Insets insets = getInsets();
+      return insets.getLeft() + insets.getRight()
+         + (horizontal ? getTotalLength() : getThickness());
+   }
+
+   @Override
+   protected double computePrefHeight(final double width) {
+      final Insets insets = getInsets();
+      return insets.getTop() + insets.getBottom()
+         + (horizontal ? getThickness() : getTotalLength());
+   }
+
+   @Override
+   protected double computeMinWidth(final double height) {
+      return horizontal ? 0 : computePrefWidth(height);
+   }
+
+   @Override
+   protected double computeMinHeight(final double width) {
+      return horizontal ? computePrefHeight(width) : 0;
+   }
+
+   @Override
+   protected void layoutChildren() {
+      final Insets insets = getInsets();
+      final double width = snapSize(getWidth() - insets.getLeft() - insets.getRight());
+      final double height = snapSize(getHeight() - insets.getTop() - insets.getBottom());
+      canvas.relocate(snapPosition(insets.getLeft()), snapPosition(insets.getTop()));
+      if (canvas.getWidth() != width || canvas.getHeight() != height) {
+         canvas.setWidth(Math.max(0, width));
+         canvas.setHeight(Math.max(0, height));
+         dirty = true;
+      }
+
+      if (dirty) {
+         dirty = false;
+         layoutEntries();
+         draw();
+      }
+   }
+
+   /**
+    * Determine the entries that fit within the toolbar, and where they start.
+    */
+   private void layoutEntries() {
+      thickness = getThickness();
+      final double available = horizontal ? canvas.getWidth() : canvas.getHeight();
+      final double overflowLength = measure(OVERFLOW_TEXT) + 2 * PADDING_ALONG;
+
+      if (starts.length < nodes.size() + 2) {
+         starts = new double[nodes.size() * 2 + 2];
+      }
+
+      double used = 0;
+      int count = 0;
+      while (count < nodes.size()) {
+         final boolean last = count == nodes.size() - 1;
+         final double length = getEntryLength(nodes.get(count));
+         if (used + length + (last ? 0 : overflowLength) > available) {
+            break;
+         }
+
+         starts[count] = used;
+         used += length;
+         count++;
+      }
+
+      entryCount = count;
+      overflow = count < nodes.size();
+      starts[count] = used;
+      if (overflow) {
+         starts[count + 1] = used + overflowLength;
+      }
+
+      if (hoverIndex >= entryCount) {
+         hoverIndex = NO_ENTRY;
+      }
+   }
+
+   private void draw() {
+      final GraphicsContext gc = canvas.getGraphicsContext2D();
+      gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+      gc.setFont(font.get());
+      gc.setTextBaseline(VPos.CENTER);
+
+      for (int i = 0; i < entryCount; i++) {
+         final DrawerNode node = nodes.get(i);
+         drawEntry(gc, i, node.getTitle(), node.getIcon(), isOpen.test(node), node.isDisable());
+      }
+
+      if (overflow) {
+         drawEntry(gc, entryCount, OVERFLOW_TEXT, null, false, false);
+      }
+
+      if (insertionIndex != NO_ENTRY) {
+         final double at = starts[Math.min(insertionIndex, entryCount)];
+         gc.setFill(insertionFill.get());
+         if (horizontal) {
+            gc.fillRect(Math.max(0, at - INSERTION_WIDTH / 2), 0, INSERTION_WIDTH, thickness);
+         } else {
+            gc.fillRect(0, Math.max(0, at - INSERTION_WIDTH / 2), thickness, INSERTION_WIDTH);
+         }
+      }
+   }
+
+   /**
+    * Draw an entry. Entries are drawn as if horizontal, and rotated for a
+    * Left/Right toolbar - matching the rotated buttons of a regular toolbar.
+    */
+   private void drawEntry(final GraphicsContext gc,
+                          final int index,
+                          final String text,
+                          final Image icon,
+                          final boolean selected,
+                          final boolean disabled) {
+      final double start = starts[index];
+      final double length = starts[index + 1] - start;
+
+      gc.save();
+      if (horizontal) {
+         gc.translate(start, 0);
+      } else {
+         gc.translate(thickness, start);
+         gc.rotate(90);
+      }
+
+      if (selected) {
+         gc.setFill(selectedFill.get());
+         gc.fillRect(0, 0, length, thickness);
+      } else if (index == hoverIndex && !disabled) {
+         gc.setFill(hoverFill.get());
+         gc.fillRect(0, 0, length, thickness);
+      }
+
+      gc.setGlobalAlpha(disabled ? DISABLED_OPACITY : 1);
+      double x = PADDING_ALONG;
+      if (icon != null) {
+         gc.drawImage(icon, x, (thickness - icon.getHeight()) / 2);
+         x += icon.getWidth() + ICON_GAP;
+      }
+      gc.setFill(textFill.get());
+      gc.fillText(text, x, thickness / 2);
+      gc.restore();
+   }
+
+   private double getEntryLength(final DrawerNode node) {
+      Double titleLength = titleLengths.get(node);
+      if (titleLength == null) {
+         titleLength = measure(node.getTitle());
+         titleLengths.put(node, titleLength);
+      }
+
+      final Image icon = node.getIcon();
+      return 2 * PADDING_ALONG + titleLength
+         + (icon == null ? 0 : icon.getWidth() + ICON_GAP);
+   }
+
+   private double getTotalLength() {
+      double length = 0;
+      for (int i = 0; i < nodes.size(); i++) {
+         length += getEntryLength(nodes.get(i));
+      }
+      return length;
+   }
+
+   /**
+    * Size of the entries across the toolbar - the larger of the text
+    * height and the icon heights, plus padding.
+    */
+   private double getThickness() {
+      measureText.setFont(font.get());
+      measureText.setText(OVERFLOW_TEXT);
+      double contents = measureText.getLayoutBounds().getHeight();
+      for (int i = 0; i < nodes.size(); i++) {
+         final Image icon = nodes.get(i).getIcon();
+         if (icon != null) {
+            contents = Math.max(contents, icon.getHeight());
+         }
+      }
+      return snapSize(contents + 2 * PADDING_ACROSS);
+   }
+
+   private double measure(final String text) {
+      measureText.setFont(font.get());
+      measureText.setText(text);
+      return measureText.getLayoutBounds().getWidth();
+   }
+
+   /**
+    * {@link CssMetaData} for a {@link Paint} property of the toolbar.
+    */
+   private static class PaintMetaData extends CssMetaData<CanvasToolbar, Paint> {
+      private final Function<CanvasToolbar, StyleableObjectProperty<Paint>> property;
+
+      PaintMetaData(final String cssProperty,
+                    final Paint initialValue,
+                    final Function<CanvasToolbar, StyleableObjectProperty<Paint>> property) {
+         super(cssProperty, StyleConverter.getPaintConverter(), initialValue);
+         this.property = property;
+      }
+
+      @Override
+      public boolean isSettable(final CanvasToolbar toolbar) {
+         return !property.apply(toolbar).isBound();
+      }
+
+      @Override
+      public StyleableProperty<Paint> getStyleableProperty(final CanvasToolbar toolbar) {
+         return property.apply(toolbar);
+      }
+   }
+}
@@ -0,0 +1,16 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+/**
+ * How a side of a {@link DrawerPane} is resized while its divider is dragged.
+ */
+public enum DividerResizeMode {
+   /**
+    * The side is resized while dragging - at most once per frame.
+    */
+   LIVE,
+   /**
+    * An outline of the divider is moved while dragging. The side is
+    * only resized when the divider is released.
+    */
+   GHOST
+}
@@ -0,0 +1,68 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.beans.InvalidationListener;
+import javafx.css.PseudoClass;
+import javafx.geometry.Bounds;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Holds onto the drag view image of a drawer button, so that a new
+ * snapshot is only taken when the button's size, text, graphic or
+ * pseudo class state (hover, selected, etc.) has changed since the last drag.
+ * The snapshot is taken with the owning side's rotation applied, so
+ * the rotated image for vertical sides is also only built once.
+ */
+class DragViewCache {
+   private final ToggleButton button;
+   private final SnapshotParameters snapshotParameters;
+   // Pseudo class state of the button when the image was taken.
+   private final Set<PseudoClass> pseudoClassStates = new HashSet<>();
+
+   private WritableImage image;
+   private boolean dirty = true;
+
+   DragViewCache(final ToggleButton button,
+                 final SnapshotParameters snapshotParameters) {
+      this.button = button;
+      this.snapshotParameters = snapshotParameters;
+
+      final InvalidationListener invalidationListener = observable -> dirty = true;
+      button.widthProperty().addListener(invalidationListener);
+      button.heightProperty().addListener(invalidationListener);
+      button.textProperty().addListener(invalidationListener);
+      button.graphicProperty().addListener(invalidationListener);
+   }
+
+   /**
+    * Image of the button to use as the drag view.
+    */
+   Image getDragView() {
+      if (dirty || !pseudoClassStates.equals(button.getPseudoClassStates())) {
+         takeSnapshot();
+      }
+
+      return image;
+   }
+
+   private void takeSnapshot() {
+      // Render into the existing buffer if the size has not changed.
+      final Bounds bounds = snapshotParameters.getTransform().transform(button.getBoundsInLocal());
+      final int width = Math.max((int)Math.ceil(bounds.getMaxX()) - (int)Math.floor(bounds.getMinX()), 1);
+      final int height = Math.max((int)Math.ceil(bounds.getMaxY()) - (int)Math.floor(bounds.getMinY()), 1);
+      final boolean reuse = image != null
+         && (int)image.getWidth() == width
+         && (int)image.getHeight() == height;
+
+      image = button.snapshot(snapshotParameters, reuse ? image : null);
+
+      pseudoClassStates.clear();
+      pseudoClassStates.addAll(button.getPseudoClassStates());
+      dirty = false;
+   }
+}
@@ -0,0 +1,164 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.event.EventTarget;
+import javafx.event.EventType;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a live, read-only {@link ObservableList} of the {@link DrawerNode}s
+ * of each side of a {@link DrawerPane}, and fires {@link DrawerEvent}s at
+ * the {@link DrawerPane}. Changes to the {@link DrawerPane}'s
+ * {@link DrawerLayoutModel} are coalesced, and applied to the lists (with a
+ * minimal set of list changes) once per pulse. As the updates run on the
+ * JavaFx application thread, the {@link DrawerPane} must only be changed on
+ * the JavaFx application thread - even if it is not within a showing Scene.
+ */
+class DrawerChangeTracker {
+   private static final int OPEN = 1;
+   private static final int FLOATING = 2;
+   private static final int DISABLED = 4;
+
+   private final Node pane;
+   private final DrawerRegistry registry;
+   private final Map<Position, ObservableList<DrawerNode>> lists = new EnumMap<>(Position.class);
+   private final Map<Position, ObservableList<DrawerNode>> readOnlyLists = new EnumMap<>(Position.class);
+   // Open/floating/disabled flags of each DrawerNode, as of the last update.
+   private final Map<DrawerNode, Integer> states = new IdentityHashMap<>();
+   // DrawerNodes removed from/added to the lists during an update.
+   private final Set<DrawerNode> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+   private final Set<DrawerNode> added = Collections.newSetFromMap(new IdentityHashMap<>());
+   private boolean updating = false;
+   private boolean scheduled = false;
+
+   // Runs the update at the start of the next pulse.
+   private final AnimationTimer timer = new AnimationTimer() {
+      @Override
+      public void handle(final long now) {
+         stop();
+         scheduled = false;
+         update();
+      }
+   };
+
+   /**
+    * @param pane Target of the {@link DrawerEvent}s.
+    */
+   DrawerChangeTracker(final Node pane,
+                       final DrawerRegistry registry) {
+      this.pane = pane;
+      this.registry = registry;
+
+      final ListChangeListener<DrawerNode> recorder = change -> {
+         while (updating && change.next()) {
+            removed.addAll(change.getRemoved());
+            added.addAll(change.getAddedSubList());
+         }
+      };
+      for (Position position : Position.values()) {
+         final ObservableList<DrawerNode> list = FXCollections.observableArrayList();
+         list.addListener(recorder);
+         lists.put(position, list);
+         readOnlyLists.put(position, FXCollections.unmodifiableObservableList(list));
+      }
+
+      registry.addChangeListener(this::schedule);
+   }
+
+   /**
+    * Live, read-only list of the {@link DrawerNode}s of a side.
+    */
+   ObservableList<DrawerNode> getNodes(final Position position) {
+      return readOnlyLists.get(position);
+   }
+
+   private void schedule() {
+      if (!scheduled) {
+         scheduled = true;
+         timer.start();
+      }
+   }
+
+   /**
+    * Bring the lists up to date with the model, and fire the events for
+    * the net changes since the last update.
+    */
+   private void update() {
+      final DrawerLayoutModel<DrawerNode> model = registry.getModel();
+      updating = true;
+      try {
+         for (Position position : Position.values()) {
+            ListReconciler.reconcile(lists.get(position), model.getDrawers(position));
+         }
+      } finally {
+         updating = false;
+      }
+
+      final List<DrawerEvent> events = new ArrayList<>();
+      for (DrawerNode node : removed) {
+         if (!added.contains(node)) {
+            states.remove(node);
+            events.add(createEvent(DrawerEvent.REMOVED, node, null));
+         }
+      }
+      for (DrawerNode node : added) {
+         events.add(createEvent(removed.contains(node) ? DrawerEvent.MOVED : DrawerEvent.ADDED,
+            node, registry.getPosition(node)));
+      }
+      removed.clear();
+      added.clear();
+
+      for (Map.Entry<Position, ObservableList<DrawerNode>> entry : lists.entrySet()) {
+         for (DrawerNode node : entry.getValue()) {
+            final int state = (model.isOpen(node) ? OPEN : 0)
+               | (model.isFloating(node) ? FLOATING : 0)
+               | (model.isDisabled(node) ? DISABLED : 0);
+            final Integer previous = states.put(node, state);
+            if (previous != null && previous != state) {
+               addStateEvents(events, node, entry.getKey(), previous, state);
+            }
+         }
+      }
+
+      for (DrawerEvent event : events) {
+         pane.fireEvent(event);
+      }
+   }
+
+   private void addStateEvents(final List<DrawerEvent> events,
+                               final DrawerNode node,
+                               final Position position,
+                               final int previous,
+                               final int state) {
+      final int changed = previous ^ state;
+      if ((changed & FLOATING) != 0) {
+         events.add(createEvent((state & FLOATING) != 0 ? DrawerEvent.FLOATED : DrawerEvent.DOCKED,
+            node, position));
+      }
+      if ((changed & OPEN) != 0) {
+         events.add(createEvent((state & OPEN) != 0 ? DrawerEvent.SHOWN : DrawerEvent.HIDDEN,
+            node, position));
+      }
+      if ((changed & DISABLED) != 0) {
+         events.add(createEvent((state & DISABLED) != 0 ? DrawerEvent.DISABLED : DrawerEvent.ENABLED,
+            node, position));
+      }
+   }
+
+   private DrawerEvent createEvent(final EventType<DrawerEvent> type,
+                                   final DrawerNode node,
+                                   final Position position) {
+      return new DrawerEvent(pane, (EventTarget)pane, type, node, position);
+   }
+}
@@ -0,0 +1,112 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.event.Event;
+import javafx.event.EventTarget;
+import javafx.event.EventType;
+
+import java.util.Optional;
+
+/**
+ * Event fired at a {@link DrawerPane} when a {@link DrawerNode} within the
+ * {@link DrawerPane} changes. Changes are coalesced, and the events fired,
+ * once per pulse - so an event describes the net change since the previous
+ * pulse. e.g. a {@link DrawerNode} that is shown and hidden within the same
+ * pulse does not fire any events.
+ * Listen with {@code drawerPane.addEventHandler(DrawerEvent.ANY, handler)}.
+ */
+public class DrawerEvent extends Event {
+   private static final long serialVersionUID = 1L;
+
+   public static final EventType<DrawerEvent> ANY = new EventType<>(Event.ANY, "DRAWER");
+
+   /**
+    * A {@link DrawerNode} was added to the {@link DrawerPane}.
+    */
+   public static final EventType<DrawerEvent> ADDED = new EventType<>(ANY, "DRAWER_ADDED");
+
+   /**
+    * A {@link DrawerNode} was removed from the {@link DrawerPane}.
+    */
+   public static final EventType<DrawerEvent> REMOVED = new EventType<>(ANY, "DRAWER_REMOVED");
+
+   /**
+    * A {@link DrawerNode} was moved to another side, or another position within its side.
+    */
+   public static final EventType<DrawerEvent> MOVED = new EventType<>(ANY, "DRAWER_MOVED");
+
+   /**
+    * A {@link DrawerNode} was opened - docked or floating.
+    */
+   public static final EventType<DrawerEvent> SHOWN = new EventType<>(ANY, "DRAWER_SHOWN");
+
+   /**
+    * A {@link DrawerNode} was closed.
+    */
+   public static final EventType<DrawerEvent> HIDDEN = new EventType<>(ANY, "DRAWER_HIDDEN");
+
+   /**
+    * A {@link DrawerNode} was changed to floating.
+    */
+   public static final EventType<DrawerEvent> FLOATED = new EventType<>(ANY, "DRAWER_FLOATED");
+
+   /**
+    * A {@link DrawerNode} was changed from floating to docked.
+    */
+   public static final EventType<DrawerEvent> DOCKED = new EventType<>(ANY, "DRAWER_DOCKED");
+
+   /**
+    * A {@link DrawerNode} was disabled.
+    */
+   public static final EventType<DrawerEvent> DISABLED = new EventType<>(ANY, "DRAWER_DISABLED");
+
+   /**
+    * A {@link DrawerNode} was enabled.
+    */
+   public static final EventType<DrawerEvent> ENABLED = new EventType<>(ANY, "DRAWER_ENABLED");
+
+   private final transient DrawerNode drawerNode;
+   private final Position position;
+
+   /**
+    * @param drawerNode {@link DrawerNode} that changed.
+    * @param position Side that contains the {@link DrawerNode} after the change.
+    *                 Null if removed.
+    */
+   public DrawerEvent(final Object source,
+                      final EventTarget target,
+                      final EventType<DrawerEvent> eventType,
+                      final DrawerNode drawerNode,
+                      final Position position) {
+      super(source, target, eventType);
+      this.drawerNode = drawerNode;
+      this.position = position;
+   }
+
+   /**
+    * {@link DrawerNode} that changed.
+    */
+   public DrawerNode getDrawerNode() {
+      return drawerNode;
+   }
+
+   /**
+    * Side that contains the {@link DrawerNode} after the change. Empty if
+    * the {@link DrawerNode} was removed.
+    */
+   public Optional<Position> getPosition() {
+      return Optional.ofNullable(position);
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public EventType<DrawerEvent> getEventType() {
+      return (EventType<DrawerEvent>)super.getEventType();
+   }
+
+   @Override
+   public String toString() {
+      return "DrawerEvent [eventType = " + getEventType()
+         + ", drawerNode = " + drawerNode.getTitle()
+         + ", position = " + position + "]";
+   }
+}
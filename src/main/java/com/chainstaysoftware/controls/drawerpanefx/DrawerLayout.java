@@ -0,0 +1,331 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Snapshot of the layout of a {@link DrawerPane} - the side, order, open,
+ * floating and disabled state of each {@link DrawerNode}, the floating
+ * window location of each {@link DrawerNode}, and the size and divider
+ * positions of each side. Created with {@link DrawerPane#captureLayout()}
+ * and applied with {@link DrawerPane#restoreLayout(DrawerLayout)}.
+ * {@link DrawerNode}s are identified by their id, or their title if they
+ * do not have an id.
+ * The layout can be written to and read from a compact line based text format.
+ */
+public final class DrawerLayout {
+   private static final String HEADER = "drawerpanefx-layout 1";
+   private static final String SIDE = "side";
+   private static final String DRAWER = "drawer";
+   private static final String NONE = "-";
+
+   private final List<DrawerState> drawers;
+   private final Map<Position, SideState> sides;
+
+   DrawerLayout(final List<DrawerState> drawers,
+                final Map<Position, SideState> sides) {
+      this.drawers = Collections.unmodifiableList(new ArrayList<>(drawers));
+      this.sides = Collections.unmodifiableMap(new EnumMap<>(sides));
+   }
+
+   /**
+    * State of each {@link DrawerNode}.
+    */
+   public List<DrawerState> getDrawers() {
+      return drawers;
+   }
+
+   /**
+    * State of the side at the passed in {@link Position}.
+    */
+   public Optional<SideState> getSide(final Position position) {
+      return Optional.ofNullable(sides.get(position));
+   }
+
+   /**
+    * Key used to identify a {@link DrawerNode} within a layout.
+    */
+   static String keyOf(final DrawerNode node) {
+      return node.getId() == null ? node.getTitle() : node.getId();
+   }
+
+   /**
+    * Write this layout to a {@link Writer}.
+    */
+   public void write(final Writer writer) throws IOException {
+      final StringBuilder sb = new StringBuilder(HEADER).append('\n');
+
+      for (SideState side : sides.values()) {
+         sb.append(SIDE).append(' ')
+            .append(side.getPosition()).append(' ')
+            .append(side.getSize().isPresent() ? Double.toString(side.getSize().getAsDouble()) : NONE)
+            .append(' ');
+         final double[] dividers = side.getDividerPositions();
+         if (dividers.length == 0) {
+            sb.append(NONE);
+         }
+         for (int i = 0; i < dividers.length; i++) {
+            sb.append(i == 0 ? "" : ",").append(dividers[i]);
+         }
+         sb.append('\n');
+      }
+
+      for (DrawerState drawer : drawers) {
+         sb.append(DRAWER).append(' ')
+            .append(drawer.getPosition()).append(' ')
+            .append(drawer.getIndex()).append(' ')
+            .append(drawer.isOpen() ? 'o' : '-')
+            .append(drawer.isFloating() ? 'f' : '-')
+            .append(drawer.isDisabled() ? 'd' : '-').append(' ')
+            .append(drawer.getFloatingX().isPresent() ? Double.toString(drawer.getFloatingX().getAsDouble()) : NONE)
+            .append(' ')
+            .append(drawer.getFloatingY().isPresent() ? Double.toString(drawer.getFloatingY().getAsDouble()) : NONE)
+            .append(' ')
+            .append(escape(drawer.getKey()))
+            .append('\n');
+      }
+
+      writer.write(sb.toString());
+      writer.flush();
+   }
+
+   /**
+    * Read a layout from a {@link Reader}.
+    * @throws IOException if the content is not a valid layout.
+    */
+   public static DrawerLayout read(final Reader reader) throws IOException {
+      final BufferedReader bufferedReader = reader instanceof BufferedReader
+         ? (BufferedReader)reader
+         : new BufferedReader(reader);
+
+      if (!HEADER.equals(bufferedReader.readLine())) {
+         throw new IOException("Not a DrawerPaneFx layout");
+      }
+
+      final List<DrawerState> drawers = new ArrayList<>();
+      final Map<Position, SideState> sides = new EnumMap<>(Position.class);
+
+      String line;
+      while ((line = bufferedReader.readLine()) != null) {
+         if (line.isEmpty()) {
+            continue;
+         }
+
+         try {
+            if (line.startsWith(SIDE + " ")) {
+               final SideState side = parseSide(line);
+               sides.put(side.getPosition(), side);
+            } else if (line.startsWith(DRAWER + " ")) {
+               drawers.add(parseDrawer(line));
+            }
+         } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new IOException("Invalid layout line - " + line, ex);
+         }
+      }
+
+      return new DrawerLayout(drawers, sides);
+   }
+
+   private static SideState parseSide(final String line) {
+      final String[] fields = line.split(" ");
+      final double[] dividers = NONE.equals(fields[3])
+         ? new double[0]
+         : Arrays.stream(fields[3].split(",")).mapToDouble(Double::parseDouble).toArray();
+      return new SideState(Position.valueOf(fields[1]), parseOptional(fields[2]), dividers);
+   }
+
+   private static DrawerState parseDrawer(final String line) {
+      final String[] fields = line.split(" ", 7);
+      final String flags = fields[3];
+      return new DrawerState(unescape(fields[6]),
+         Position.valueOf(fields[1]),
+         Integer.parseInt(fields[2]),
+         flags.indexOf('o') >= 0,
+         flags.indexOf('f') >= 0,
+         flags.indexOf('d') >= 0,
+         parseOptional(fields[4]),
+         parseOptional(fields[5]));
+   }
+
+   private static OptionalDouble parseOptional(final String field) {
+      return NONE.equals(field) ? OptionalDouble.empty() : OptionalDouble.of(Double.parseDouble(field));
+   }
+
+   private static String escape(final String key) {
+      return key.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+   }
+
+   private static String unescape(final String key) {
+      final StringBuilder sb = new StringBuilder(key.length());
+      for (int i = 0; i < key.length(); i++) {
+         final char c = key.charAt(i);
+         if (c == '\\' && i + 1 < key.length()) {
+            final char next = key.charAt(++i);
+            sb.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+         } else {
+            sb.append(c);
+         }
+      }
+      return sb.toString();
+   }
+
+   /**
+    * Write this layout to a file. The layout is written to a temporary file
+    * within the same directory, which then replaces the file - atomically
+    * if supported by the file system - so that a partially written layout
+    * is never read.
+    */
+   public void save(final Path path) throws IOException {
+      final Path absolute = path.toAbsolutePath();
+      final Path dir = absolute.getParent();
+      if (dir != null) {
+         Files.createDirectories(dir);
+      }
+
+      final Path tmp = Files.createTempFile(dir, absolute.getFileName().toString(), ".tmp");
+      try {
+         try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            write(writer);
+         }
+
+         try {
+            Files.move(tmp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+         } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING);
+         }
+      } finally {
+         Files.deleteIfExists(tmp);
+      }
+   }
+
+   /**
+    * Read a layout from a file.
+    */
+   public static DrawerLayout load(final Path path) throws IOException {
+      try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+         return read(reader);
+      }
+   }
+
+   /**
+    * Layout state of a single {@link DrawerNode}.
+    */
+   public static final class DrawerState {
+      private final String key;
+      private final Position position;
+      private final int index;
+      private final boolean open;
+      private final boolean floating;
+      private final boolean disabled;
+      private final OptionalDouble floatingX;
+      private final OptionalDouble floatingY;
+
+      DrawerState(final String key,
+                  final Position position,
+                  final int index,
+                  final boolean open,
+                  final boolean floating,
+                  final boolean disabled,
+                  final OptionalDouble floatingX,
+                  final OptionalDouble floatingY) {
+         this.key = key;
+         this.position = position;
+         this.index = index;
+         this.open = open;
+         this.floating = floating;
+         this.disabled = disabled;
+         this.floatingX = floatingX;
+         this.floatingY = floatingY;
+      }
+
+      /**
+       * Id of the {@link DrawerNode} - or title if the {@link DrawerNode} does not have an id.
+       */
+      public String getKey() {
+         return key;
+      }
+
+      public Position getPosition() {
+         return position;
+      }
+
+      /**
+       * Index (0 based) of the {@link DrawerNode} within its side.
+       */
+      public int getIndex() {
+         return index;
+      }
+
+      public boolean isOpen() {
+         return open;
+      }
+
+      public boolean isFloating() {
+         return floating;
+      }
+
+      public boolean isDisabled() {
+         return disabled;
+      }
+
+      public OptionalDouble getFloatingX() {
+         return floatingX;
+      }
+
+      public OptionalDouble getFloatingY() {
+         return floatingY;
+      }
+   }
+
+   /**
+    * Layout state of a side.
+    */
+   public static final class SideState {
+      private final Position position;
+      private final OptionalDouble size;
+      private final double[] dividerPositions;
+
+      SideState(final Position position,
+                final OptionalDouble size,
+                final double[] dividerPositions) {
+         this.position = position;
+         this.size = size;
+         this.dividerPositions = dividerPositions.clone();
+      }
+
+      public Position getPosition() {
+         return position;
+      }
+
+      /**
+       * Width (left/right) or height (top/bottom) of the side's open
+       * drawers. Empty if the side has not been resized.
+       */
+      public OptionalDouble getSize() {
+         return size;
+      }
+
+      /**
+       * Divider positions between the side's open drawers.
+       */
+      public double[] getDividerPositions() {
+         return dividerPositions.clone();
+      }
+   }
+}
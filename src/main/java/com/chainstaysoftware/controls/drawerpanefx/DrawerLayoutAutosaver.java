@@ -0,0 +1,151 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Saves the layout of a {@link DrawerPane} to a file each time the layout
+ * changes. Saves are debounced - a burst of changes (e.g. dragging a
+ * divider or a floating window) results in a single save once the layout
+ * has not changed for the save delay. The layout is captured on the JavaFx
+ * application thread, but written on a background thread, so the UI is
+ * never blocked on disk IO. Writes replace the file atomically (see
+ * {@link DrawerLayout#save(Path)}).
+ * Must be used from the JavaFx application thread.
+ */
+public class DrawerLayoutAutosaver {
+   private static Logger logger = LoggerFactory.getLogger("com.chainstaysoftware.controls.drawerpanefx.DrawerLayoutAutosaver");
+
+   public static final Duration DEFAULT_DELAY = Duration.seconds(1);
+
+   private final DrawerPane drawerPane;
+   private final Path path;
+   private final PauseTransition pause = new PauseTransition(DEFAULT_DELAY);
+   private final Runnable layoutChangeListener = pause::playFromStart;
+   // Most recently captured layout that has not yet been written.
+   private final AtomicReference<DrawerLayout> pending = new AtomicReference<>();
+   // Single writer thread, which exits when idle so it never holds up JVM exit.
+   private final ExecutorService writer = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>(), runnable -> new Thread(runnable, "DrawerLayoutAutosaver"));
+
+   private boolean started = false;
+
+   public DrawerLayoutAutosaver(final DrawerPane drawerPane,
+                                final Path path) {
+      if (drawerPane == null) {
+         throw new IllegalArgumentException("drawerPane must not be null");
+      }
+
+      if (path == null) {
+         throw new IllegalArgumentException("path must not be null");
+      }
+
+      this.drawerPane = drawerPane;
+      this.path = path;
+      pause.setOnFinished(event -> saveNow());
+   }
+
+   /**
+    * Time the layout must be unchanged for before it is saved.
+    * Defaults to {@link #DEFAULT_DELAY}.
+    */
+   public void setDelay(final Duration delay) {
+      if (delay == null || delay.lessThan(Duration.ZERO)) {
+         throw new IllegalArgumentException("delay must not be null or negative");
+      }
+
+      pause.setDuration(delay);
+   }
+
+   /**
+    * Restore the layout from the file - if the file exists. Call after
+    * adding the {@link DrawerNode}s to the {@link DrawerPane}, and before
+    * the {@link DrawerPane} is shown.
+    * @return True if a layout was restored.
+    */
+   public boolean restore() {
+      if (!Files.exists(path)) {
+         return false;
+      }
+
+      try {
+         drawerPane.restoreLayout(DrawerLayout.load(path));
+         return true;
+      } catch (IOException ex) {
+         logger.warn("Unable to restore layout from " + path, ex);
+         return false;
+      }
+   }
+
+   /**
+    * Start saving the layout when it changes.
+    */
+   public void start() {
+      if (!started) {
+         started = true;
+         drawerPane.addLayoutChangeListener(layoutChangeListener);
+      }
+   }
+
+   /**
+    * Stop saving the layout when it changes. A change that is waiting
+    * for the save delay to elapse is saved immediately.
+    */
+   public void stop() {
+      if (!started) {
+         return;
+      }
+
+      started = false;
+      drawerPane.removeLayoutChangeListener(layoutChangeListener);
+
+      if (pause.getStatus() == Animation.Status.RUNNING) {
+         pause.stop();
+         saveNow();
+      }
+   }
+
+   /**
+    * Capture the current layout and write it to the file in the background.
+    * If writes are backed up, only the most recent layout is written.
+    */
+   public void saveNow() {
+      pause.stop();
+      pending.set(drawerPane.captureLayout());
+      writer.execute(this::writePending);
+   }
+
+   /**
+    * Stop saving, and release the writer thread once any pending
+    * write completes.
+    */
+   public void close() {
+      stop();
+      writer.shutdown();
+   }
+
+   private void writePending() {
+      final DrawerLayout layout = pending.getAndSet(null);
+      if (layout == null) {
+         return;
+      }
+
+      try {
+         layout.save(path);
+      } catch (IOException ex) {
+         logger.warn("Unable to save layout to " + path, ex);
+      }
+   }
+}
@@ -0,0 +1,347 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+/**
+ * Headless model of the layout of a {@link DrawerPane} - the drawers of each
+ * side in toolbar order, the open, floating and disabled state of each drawer,
+ * and the size of each side's open drawers. Plain Java, with no dependency on
+ * the JavaFx toolkit, so it is cheap to query, copy and modify, and can be
+ * used without a running toolkit.
+ * A {@link DrawerPane} keeps its layout within a model, and applies changes
+ * to its scene graph as the difference between two models. See
+ * {@link #diff(DrawerLayoutModel, DrawerLayoutModel, Listener)}.
+ * Not thread safe.
+ *
+ * @param <T> Type of the drawers. Drawers are compared by identity.
+ */
+public final class DrawerLayoutModel<T> {
+   private final Map<Position, List<T>> sides = new EnumMap<>(Position.class);
+   private final Map<Position, List<T>> readOnlySides = new EnumMap<>(Position.class);
+   private final Map<T, Position> positions = new IdentityHashMap<>();
+   private final Set<T> open = Collections.newSetFromMap(new IdentityHashMap<>());
+   private final Set<T> floating = Collections.newSetFromMap(new IdentityHashMap<>());
+   private final Set<T> disabled = Collections.newSetFromMap(new IdentityHashMap<>());
+   private final Map<Position, Double> sizes = new EnumMap<>(Position.class);
+
+   /**
+    * Create an empty model.
+    */
+   public DrawerLayoutModel() {
+      for (Position position : Position.values()) {
+         final List<T> drawers = new ArrayList<>();
+         sides.put(position, drawers);
+         readOnlySides.put(position, Collections.unmodifiableList(drawers));
+      }
+   }
+
+   /**
+    * Create a copy of another model.
+    */
+   public DrawerLayoutModel(final DrawerLayoutModel<T> other) {
+      this();
+
+      if (other == null) {
+         throw new IllegalArgumentException("other must not be null");
+      }
+
+      other.sides.forEach((position, drawers) -> sides.get(position).addAll(drawers));
+      positions.putAll(other.positions);
+      open.addAll(other.open);
+      floating.addAll(other.floating);
+      disabled.addAll(other.disabled);
+      sizes.putAll(other.sizes);
+   }
+
+   /**
+    * The drawers of a side, in toolbar order. The returned list is read-only,
+    * and reflects later changes to this model.
+    */
+   public List<T> getDrawers(final Position position) {
+      if (position == null) {
+         throw new IllegalArgumentException("position must not be null");
+      }
+
+      return readOnlySides.get(position);
+   }
+
+   /**
+    * The side that contains the passed in drawer. Empty if the drawer is
+    * not within this model.
+    */
+   public Optional<Position> getPosition(final T drawer) {
+      return Optional.ofNullable(positions.get(drawer));
+   }
+
+   /**
+    * True if the passed in drawer is within a side of this model.
+    */
+   public boolean contains(final T drawer) {
+      return positions.containsKey(drawer);
+   }
+
+   /**
+    * True if the passed in drawer is open (docked or floating).
+    */
+   public boolean isOpen(final T drawer) {
+      return open.contains(drawer);
+   }
+
+   public boolean isFloating(final T drawer) {
+      return floating.contains(drawer);
+   }
+
+   public boolean isDisabled(final T drawer) {
+      return disabled.contains(drawer);
+   }
+
+   /**
+    * Width (left/right) or height (top/bottom) of a side's open drawers.
+    * Empty if the size has not been set.
+    */
+   public OptionalDouble getSize(final Position position) {
+      final Double size = sizes.get(position);
+      return size == null ? OptionalDouble.empty() : OptionalDouble.of(size);
+   }
+
+   /**
+    * Add a drawer to the end of a side. A drawer that is already within
+    * this model is moved to the end of the side.
+    */
+   public void add(final T drawer,
+                   final Position position) {
+      move(drawer, position, Integer.MAX_VALUE);
+   }
+
+   /**
+    * Move a drawer to a position index (0 based) within a side. The index is
+    * clamped to the side's number of drawers. Adds the drawer if it is not
+    * already within this model. The drawer's state is kept.
+    */
+   public void move(final T drawer,
+                    final Position position,
+                    final int index) {
+      if (drawer == null) {
+         throw new IllegalArgumentException("drawer must not be null");
+      }
+
+      if (position == null) {
+         throw new IllegalArgumentException("position must not be null");
+      }
+
+      detach(drawer);
+
+      final List<T> drawers = sides.get(position);
+      drawers.add(Math.max(0, Math.min(index, drawers.size())), drawer);
+      positions.put(drawer, position);
+   }
+
+   /**
+    * Remove a drawer, and its state, from this model.
+    * Returns false if the drawer was not within this model.
+    */
+   public boolean remove(final T drawer) {
+      open.remove(drawer);
+      floating.remove(drawer);
+      disabled.remove(drawer);
+      return detach(drawer);
+   }
+
+   /**
+    * Set the drawers of a side, in toolbar order. Drawers within another side
+    * are moved (keeping their state). Drawers within the side, but not the
+    * passed in list, are removed.
+    */
+   public void setDrawers(final Position position,
+                          final List<? extends T> drawers) {
+      if (position == null) {
+         throw new IllegalArgumentException("position must not be null");
+      }
+
+      final Set<T> keep = Collections.newSetFromMap(new IdentityHashMap<>());
+      keep.addAll(drawers);
+      for (T drawer : new ArrayList<>(sides.get(position))) {
+         if (!keep.contains(drawer)) {
+            remove(drawer);
+         }
+      }
+
+      for (T drawer : drawers) {
+         final Position current = positions.get(drawer);
+         if (current != null && current != position) {
+            detach(drawer);
+         }
+      }
+
+      final List<T> side = sides.get(position);
+      side.clear();
+      side.addAll(drawers);
+      for (T drawer : drawers) {
+         positions.put(drawer, position);
+      }
+   }
+
+   public void setOpen(final T drawer,
+                       final boolean open) {
+      setFlag(this.open, drawer, open);
+   }
+
+   public void setFloating(final T drawer,
+                           final boolean floating) {
+      setFlag(this.floating, drawer, floating);
+   }
+
+   public void setDisabled(final T drawer,
+                           final boolean disabled) {
+      setFlag(this.disabled, drawer, disabled);
+   }
+
+   /**
+    * Set the width (left/right) or height (top/bottom) of a side's open
+    * drawers. A negative or NaN size clears the size.
+    */
+   public void setSize(final Position position,
+                       final double size) {
+      if (position == null) {
+         throw new IllegalArgumentException("position must not be null");
+      }
+
+      if (size >= 0) {
+         sizes.put(position, size);
+      } else {
+         sizes.remove(position);
+      }
+   }
+
+   private boolean detach(final T drawer) {
+      final Position current = positions.remove(drawer);
+      return current != null && sides.get(current).remove(drawer);
+   }
+
+   private void setFlag(final Set<T> flags,
+                        final T drawer,
+                        final boolean value) {
+      if (drawer == null) {
+         throw new IllegalArgumentException("drawer must not be null");
+      }
+
+      if (value) {
+         flags.add(drawer);
+      } else {
+         flags.remove(drawer);
+      }
+   }
+
+   /**
+    * Report the changes needed to go from one model to another, in the order
+    * they should be applied - removals, then the sides whose drawers changed,
+    * then floating, disabled and open changes, then sizes. Only the net
+    * differences are reported, so e.g. a drawer that is shown and then hidden
+    * between the two models is not reported at all.
+    */
+   public static <T> void diff(final DrawerLayoutModel<T> from,
+                               final DrawerLayoutModel<T> to,
+                               final Listener<T> listener) {
+      for (Position position : Position.values()) {
+         for (T drawer : from.sides.get(position)) {
+            if (!to.contains(drawer)) {
+               listener.removed(drawer);
+            }
+         }
+      }
+
+      for (Position position : Position.values()) {
+         if (!sameDrawers(from.sides.get(position), to.sides.get(position))) {
+            listener.sideChanged(position, to.getDrawers(position));
+         }
+      }
+
+      for (Position position : Position.values()) {
+         for (T drawer : to.sides.get(position)) {
+            if (from.isFloating(drawer) != to.isFloating(drawer)) {
+               listener.floatingChanged(drawer, to.isFloating(drawer));
+            }
+         }
+      }
+
+      for (Position position : Position.values()) {
+         for (T drawer : to.sides.get(position)) {
+            if (from.isDisabled(drawer) != to.isDisabled(drawer)) {
+               listener.disabledChanged(drawer, to.isDisabled(drawer));
+            }
+         }
+      }
+
+      for (Position position : Position.values()) {
+         for (T drawer : to.sides.get(position)) {
+            if (from.isOpen(drawer) != to.isOpen(drawer)) {
+               listener.openChanged(drawer, to.isOpen(drawer));
+            }
+         }
+      }
+
+      for (Position position : Position.values()) {
+         final Double size = to.sizes.get(position);
+         if (size != null && !size.equals(from.sizes.get(position))) {
+            listener.sizeChanged(position, size);
+         }
+      }
+   }
+
+   private static <T> boolean sameDrawers(final List<T> a,
+                                          final List<T> b) {
+      if (a.size() != b.size()) {
+         return false;
+      }
+
+      for (int i = 0; i < a.size(); i++) {
+         if (a.get(i) != b.get(i)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Receives the changes reported by
+    * {@link DrawerLayoutModel#diff(DrawerLayoutModel, DrawerLayoutModel, Listener)}.
+    */
+   public interface Listener<T> {
+      /**
+       * A drawer was removed.
+       */
+      default void removed(final T drawer) {
+      }
+
+      /**
+       * The drawers of a side, or their order, changed.
+       */
+      default void sideChanged(final Position position,
+                               final List<T> drawers) {
+      }
+
+      default void floatingChanged(final T drawer,
+                                   final boolean floating) {
+      }
+
+      default void disabledChanged(final T drawer,
+                                   final boolean disabled) {
+      }
+
+      default void openChanged(final T drawer,
+                               final boolean open) {
+      }
+
+      default void sizeChanged(final Position position,
+                               final double size) {
+      }
+   }
+}
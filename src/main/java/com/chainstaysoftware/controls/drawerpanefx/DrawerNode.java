@@ -1,32 +1,77 @@
 package com.chainstaysoftware.controls.drawerpanefx;
 
+import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 
 /**
  * Base class for a node that provides content to include within a
  * drawer within the {@link DrawerPane}. The class also provides title text
  * and an icon to include within the show/hide button that is displayed within
  * a {@link DrawerPane} toolbar.
+ * The content can either be passed in directly, or be created by a factory
+ * the first time that the drawer is shown, docked or floated. The factory
+ * can optionally be run on an {@link Executor}, off of the JavaFx
+ * application thread, in which case a placeholder is shown until the
+ * content is ready.
  */
 public class DrawerNode extends Pane {
-   private final Node contents;
+   private static Logger logger = LoggerFactory.getLogger("com.chainstaysoftware.controls.drawerpanefx.DrawerNode");
+   private static final ResourceBundle resourceBundle = ResourceBundle.getBundle("drawerpanefx");
+
+   private final Supplier<Node> contentsFactory;
+   // Executor to run the contentsFactory on. Null to run on the calling thread.
+   private final Executor contentsExecutor;
    private final String title;
    private final Image icon;
    private final boolean canFloat;
    private final URL floatStyleSheet;
    private final List<Position> validPositions;
 
+   private Node contents;
+   // Wraps the contents, or the placeholder while the contents are being built.
+   private VBox contentsBox;
+   // Shown while the contents are built by the contentsExecutor. Created when first needed.
+   private Label placeholder;
+   // Contents build running on the contentsExecutor. Null if none.
+   private FutureTask<Node> contentsTask;
    private boolean isFloating;
+   // Null to use the DrawerPane's floating mode.
+   private FloatingMode floatingMode;
    private Optional<Double> floatingX = Optional.empty();
    private Optional<Double> floatingY = Optional.empty();
+   private final ReadOnlyObjectWrapper<DrawerVisibility> visibility
+      = new ReadOnlyObjectWrapper<>(this, "visibility", DrawerVisibility.HIDDEN);
+   private final List<Animation> animations = new ArrayList<>();
+   // Registered animations that were paused because this node was hidden.
+   private final List<Animation> pausedAnimations = new ArrayList<>();
+   private boolean pauseAnimationsWhenHidden = false;
+   // Receives the layout time of this node's subtree. Null unless profiling.
+   private LongConsumer layoutTimeListener;
 
    /**
     * Constructor. Defaults icon to null and canFloat to True.
@@ -56,35 +101,377 @@ public class DrawerNode extends Pane {
                      final boolean canFloat,
                      final URL floatStyleSheet,
                      final List<Position> validPositions) {
-      if (contents == null) {
-         throw new IllegalArgumentException("contents must not be null");
+      this(contents, null, null, title, icon, canFloat, floatStyleSheet, validPositions);
+   }
+
+   /**
+    * Constructor. Defaults icon to null and canFloat to True.
+    * @param contentsFactory Creates the Node to display when the drawer is open.
+    *                        Not called until the drawer is first shown, docked
+    *                        or floated (or {@link #getContents()} is called).
+    * @param title Title to show on the drawer show/hide button.
+    */
+   public DrawerNode(final Supplier<Node> contentsFactory,
+                     final String title) {
+      this(contentsFactory, title, null, true, null, Collections.emptyList());
+   }
+
+   /**
+    * Constructor
+    * @param contentsFactory Creates the Node to display when the drawer is open.
+    *                        Not called until the drawer is first shown, docked
+    *                        or floated (or {@link #getContents()} is called).
+    * @param title Title to show on the drawer show/hide button.
+    * @param icon Icon to show on the drawer show/hide button. Can be null.
+    * @param canFloat True if the contents can be detached from the {@link DrawerPane}
+    *                 and contained within its own window.
+    * @param floatStyleSheet URL to style sheet to attach to scene when
+    *                        the {@link DrawerNode} is floating. Null indicates none.
+    * @param validPositions List of sides that this {@link DrawerNode} can
+    *                       be positioned at. Empty list indicates that all
+    */
+   public DrawerNode(final Supplier<Node> contentsFactory,
+                     final String title,
+                     final Image icon,
+                     final boolean canFloat,
+                     final URL floatStyleSheet,
+                     final List<Position> validPositions) {
+      this(contentsFactory, null, title, icon, canFloat, floatStyleSheet, validPositions);
+   }
+
+   /**
+    * Constructor. Defaults icon to null and canFloat to True.
+    * @param contentsFactory Creates the Node to display when the drawer is open.
+    *                        Run on the executor, when the drawer is first shown,
+    *                        docked or floated. So, must not modify any Nodes
+    *                        that are within a Scene.
+    * @param executor Executor to run the contentsFactory on.
+    * @param title Title to show on the drawer show/hide button.
+    */
+   public DrawerNode(final Supplier<Node> contentsFactory,
+                     final Executor executor,
+                     final String title) {
+      this(contentsFactory, executor, title, null, true, null, Collections.emptyList());
+   }
+
+   /**
+    * Constructor
+    * @param contentsFactory Creates the Node to display when the drawer is open.
+    *                        Run on the executor, when the drawer is first shown,
+    *                        docked or floated. So, must not modify any Nodes
+    *                        that are within a Scene. A placeholder is displayed
+    *                        until the Node is created. If the drawer is hidden
+    *                        before the Node is created, the build is cancelled
+    *                        (interrupted), and restarted the next time that the
+    *                        drawer is shown.
+    * @param executor Executor to run the contentsFactory on. Null to run the
+    *                 contentsFactory on the JavaFx application thread.
+    * @param title Title to show on the drawer show/hide button.
+    * @param icon Icon to show on the drawer show/hide button. Can be null.
+    * @param canFloat True if the contents can be detached from the {@link DrawerPane}
+    *                 and contained within its own window.
+    * @param floatStyleSheet URL to style sheet to attach to scene when
+    *                        the {@link DrawerNode} is floating. Null indicates none.
+    * @param validPositions List of sides that this {@link DrawerNode} can
+    *                       be positioned at. Empty list indicates that all
+    */
+   public DrawerNode(final Supplier<Node> contentsFactory,
+                     final Executor executor,
+                     final String title,
+                     final Image icon,
+                     final boolean canFloat,
+                     final URL floatStyleSheet,
+                     final List<Position> validPositions) {
+      this(null, contentsFactory, executor, title, icon, canFloat, floatStyleSheet, validPositions);
+   }
+
+   private DrawerNode(final Node contents,
+                      final Supplier<Node> contentsFactory,
+                      final Executor contentsExecutor,
+                      final String title,
+                      final Image icon,
+                      final boolean canFloat,
+                      final URL floatStyleSheet,
+                      final List<Position> validPositions) {
+      if (contents == null && contentsFactory == null) {
+         throw new IllegalArgumentException("contents/contentsFactory must not be null");
       }
 
       if (title == null) {
          throw new IllegalArgumentException("title must not be null");
       }
 
-      this.contents = contents;
+      this.contentsFactory = contentsFactory;
+      this.contentsExecutor = contentsExecutor;
       this.title = title;
       this.icon = icon;
       this.canFloat = canFloat;
       this.floatStyleSheet = floatStyleSheet;
       this.validPositions = Collections.unmodifiableList(validPositions);
 
-      final VBox vBox = new VBox();
-      vBox.setId("DrawerNodeVbox-" + title);
-      vBox.getChildren().addAll(contents);
-
-      getChildren().add(vBox);
+      if (contents != null) {
+         setContents(contents);
+      }
    }
 
    /**
-    * {@link Node} that this {@link DrawerNode} wraps
+    * {@link Node} that this {@link DrawerNode} wraps. Creates the
+    * {@link Node} if this {@link DrawerNode} was constructed with a
+    * contents factory and the {@link Node} has not been created yet.
+    * If the contents factory is run on an executor, starts the build and
+    * returns null until the {@link Node} has been created.
     */
    public Node getContents() {
+      buildContents();
       return contents;
    }
 
+   /**
+    * True if the {@link Node} that this {@link DrawerNode} wraps has
+    * been created. False while the {@link Node} is being built on an executor.
+    */
+   public boolean isContentsBuilt() {
+      return contents != null;
+   }
+
+   /**
+    * Create the {@link Node} that this {@link DrawerNode} wraps - if not
+    * already created.
+    */
+   void buildContents() {
+      if (contents != null) {
+         return;
+      }
+
+      if (contentsExecutor != null) {
+         buildContentsAsync();
+         return;
+      }
+
+      final Node built = contentsFactory.get();
+      if (built == null) {
+         throw new IllegalStateException("contentsFactory returned null for " + title);
+      }
+
+      setContents(built);
+   }
+
+   /**
+    * Show the placeholder, and start building the contents on the
+    * contentsExecutor - if not already started.
+    */
+   private void buildContentsAsync() {
+      if (contentsTask != null) {
+         return;
+      }
+
+      if (placeholder == null) {
+         placeholder = new Label();
+         placeholder.getStyleClass().add("drawerpanefx-placeholder");
+      }
+      placeholder.setText(resourceBundle.getString("contents.loading.txt"));
+      getContentsBox().getChildren().setAll(placeholder);
+
+      final FutureTask<Node> task = new FutureTask<Node>(contentsFactory::get) {
+         @Override
+         protected void done() {
+            Platform.runLater(() -> contentsTaskDone(this));
+         }
+      };
+      contentsTask = task;
+
+      try {
+         contentsExecutor.execute(task);
+      } catch (RejectedExecutionException ex) {
+         contentsTask = null;
+         logger.warn("Unable to build contents of " + title, ex);
+         placeholder.setText(resourceBundle.getString("contents.failed.txt"));
+      }
+   }
+
+   /**
+    * Called on the JavaFx application thread when a contents build completes,
+    * fails or is cancelled. Swaps the built contents in for the placeholder.
+    */
+   private void contentsTaskDone(final FutureTask<Node> task) {
+      if (task != contentsTask) {
+         // Cancelled.
+         return;
+      }
+
+      contentsTask = null;
+      try {
+         final Node built = task.get();
+         if (built == null) {
+            throw new ExecutionException(new IllegalStateException("contentsFactory returned null"));
+         }
+
+         setContents(built);
+
+         // Fit the floating window to the contents, rather than the placeholder.
+         final Window window = getScene() == null ? null : getScene().getWindow();
+         if (isFloating && window instanceof Stage && window.isShowing()) {
+            window.sizeToScene();
+         }
+      } catch (ExecutionException ex) {
+         // Left to be retried the next time that the drawer is shown.
+         logger.warn("Unable to build contents of " + title, ex.getCause());
+         placeholder.setText(resourceBundle.getString("contents.failed.txt"));
+      } catch (InterruptedException ex) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Cancel building the contents on the contentsExecutor - if in progress.
+    * The build is restarted the next time that the drawer is shown.
+    */
+   void cancelContentsBuild() {
+      if (contentsTask != null) {
+         contentsTask.cancel(true);
+         contentsTask = null;
+      }
+   }
+
+   private void setContents(final Node contents) {
+      this.contents = contents;
+      getContentsBox().getChildren().setAll(contents);
+   }
+
+   private VBox getContentsBox() {
+      if (contentsBox == null) {
+         contentsBox = new VBox();
+         contentsBox.setId("DrawerNodeVbox-" + title);
+         getChildren().add(contentsBox);
+      }
+
+      return contentsBox;
+   }
+
+   /**
+    * Visibility state of this node - hidden, docked, floating, or floating
+    * within a minimized window. Listen to this property to stop work (e.g.
+    * polling, or updating charts) while the node cannot be seen.
+    */
+   public ReadOnlyObjectProperty<DrawerVisibility> visibilityProperty() {
+      return visibility.getReadOnlyProperty();
+   }
+
+   public DrawerVisibility getVisibility() {
+      return visibility.get();
+   }
+
+   void setVisibility(final DrawerVisibility state) {
+      if (visibility.get() == state) {
+         return;
+      }
+
+      visibility.set(state);
+
+      if (pauseAnimationsWhenHidden) {
+         if (state.isShowing()) {
+            resumeAnimations();
+         } else {
+            pauseAnimations();
+         }
+      }
+   }
+
+   /**
+    * Register an {@link Animation} (e.g. a {@link javafx.animation.Timeline})
+    * that runs within this node's contents, so that it can be paused while
+    * the node is not showing. See {@link #setPauseAnimationsWhenHidden(boolean)}.
+    */
+   public void registerAnimation(final Animation animation) {
+      if (animation == null) {
+         throw new IllegalArgumentException("animation must not be null");
+      }
+
+      if (!animations.contains(animation)) {
+         animations.add(animation);
+         if (pauseAnimationsWhenHidden && !getVisibility().isShowing()) {
+            pauseAnimation(animation);
+         }
+      }
+   }
+
+   /**
+    * Stop managing a previously registered {@link Animation}. Resumes the
+    * {@link Animation} if it was paused because this node was not showing.
+    */
+   public void unregisterAnimation(final Animation animation) {
+      animations.remove(animation);
+      if (pausedAnimations.remove(animation)) {
+         animation.play();
+      }
+   }
+
+   /**
+    * Call to automatically pause the running registered {@link Animation}s
+    * when this node is hidden or minimized, and resume them when it is
+    * shown again. Animations that were paused or stopped by the application
+    * are left alone. Defaults to false.
+    */
+   public void setPauseAnimationsWhenHidden(final boolean pause) {
+      this.pauseAnimationsWhenHidden = pause;
+
+      if (pause && !getVisibility().isShowing()) {
+         pauseAnimations();
+      } else if (!pause) {
+         resumeAnimations();
+      }
+   }
+
+   private void pauseAnimations() {
+      for (Animation animation : animations) {
+         pauseAnimation(animation);
+      }
+   }
+
+   private void pauseAnimation(final Animation animation) {
+      if (animation.getStatus() == Animation.Status.RUNNING) {
+         animation.pause();
+         pausedAnimations.add(animation);
+      }
+   }
+
+   private void resumeAnimations() {
+      for (Animation animation : pausedAnimations) {
+         // Skip animations that the application changed while paused.
+         if (animation.getStatus() == Animation.Status.PAUSED) {
+            animation.play();
+         }
+      }
+      pausedAnimations.clear();
+   }
+
+   /**
+    * Set a listener that is passed the time (in nanoseconds) taken to layout
+    * this node's subtree, each time it is laid out. Null to stop timing.
+    */
+   void setLayoutTimeListener(final LongConsumer listener) {
+      this.layoutTimeListener = listener;
+   }
+
+   @Override
+   protected void layoutChildren() {
+      if (layoutTimeListener == null) {
+         super.layoutChildren();
+         return;
+      }
+
+      // Layout the children's subtrees here, rather than after this method
+      // returns, so that the whole subtree is within the timing.
+      final long start = System.nanoTime();
+      super.layoutChildren();
+      for (Node child : getChildren()) {
+         if (child instanceof Parent) {
+            ((Parent)child).layout();
+         }
+      }
+      layoutTimeListener.accept(System.nanoTime() - start);
+   }
+
    /**
     * Title to use for show/hide button.
     */
@@ -117,6 +504,24 @@ public class DrawerNode extends Pane {
       isFloating = floating;
    }
 
+   /**
+    * How this instance is displayed when floating - within its own window,
+    * or within an internal window drawn over the {@link DrawerPane}. Null
+    * to use the {@link DrawerPane}'s floating mode (the default). Applies
+    * the next time that this instance is floated.
+    */
+   public void setFloatingMode(final FloatingMode floatingMode) {
+      this.floatingMode = floatingMode;
+   }
+
+   /**
+    * Floating mode of this instance. Empty if the {@link DrawerPane}'s
+    * floating mode is used.
+    */
+   public Optional<FloatingMode> getFloatingMode() {
+      return Optional.ofNullable(floatingMode);
+   }
+
    /**
     * X value to use for the Stage that hosts the {@link DrawerNode} when floating.
     */
@@ -1,14 +1,30 @@
 package com.chainstaysoftware.controls.drawerpanefx;
 
+import javafx.beans.InvalidationListener;
+import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
+import javafx.util.Duration;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Base class for JavaFx layout Pane that provides supports for drawers
@@ -20,23 +36,49 @@ import java.util.Optional;
  * surround the DrawerPane on the Top, Right, Bottom and Left. The toolbars
  * can optionally be disabled/enabled independently. And, the toolbars
  * and buttons can be styled using CSS.
+ * Each side is only created once it contains a {@link DrawerNode}, or once
+ * it is visible within a {@link Scene}, so hidden and unused sides have no
+ * scene graph footprint.
  */
 // TODO: Resize side panes.
 public class DrawerPane extends Pane {
+   private static final Duration DEFAULT_WARM_UP_FRAME_BUDGET = Duration.millis(4);
+
    private final DragState dragState = new DragState();
+   private final DrawerRegistry registry = new DrawerRegistry();
+   private final FloatingWindowBuilder floatingWindows = new FloatingWindowBuilder(registry::fireChanged);
+   private final InternalWindowBuilder internalWindows = new InternalWindowBuilder(this, registry::fireChanged);
+   private final DrawerPaneMetrics metrics = new DrawerPaneMetrics();
+   private final Runnable metricsListener = this::updateMetricsGauges;
+   // Name the metrics are registered under. Null if not registered.
+   private ObjectName metricsName;
    private final BorderPane borderPane = new BorderPane();
-   private final HorizontalSide top = new HorizontalSide(Position.Top, dragState);
-   private final VerticalSide leftSide = new VerticalSide(Position.Left, dragState);
-   private final HorizontalSide bottom = new HorizontalSide(Position.Bottom, dragState);
-   private final VerticalSide rightSide = new VerticalSide(Position.Right, dragState);
+   // Sides that have been created. Sides are created when first needed.
+   private final Map<Position, AbstractSide> sides = new EnumMap<>(Position.class);
+   // Live lists of the drawers, and source of the DrawerEvents.
+   private final DrawerChangeTracker changeTracker = new DrawerChangeTracker(this, registry);
+   // Settings to apply to the sides as they are created.
+   private final Set<Position> hiddenSides = EnumSet.noneOf(Position.class);
+   private final Set<Position> singleOpenDrawerSides = EnumSet.noneOf(Position.class);
+   private boolean toolbarsVirtualized = false;
+   private boolean toolbarsCanvasRendered = false;
+   private boolean prefetchOnHover = false;
+   private FloatingMode floatingMode = FloatingMode.WINDOW;
+   // Idle time warm up of the hidden drawers. Null if never started.
+   private DrawerWarmUp warmUp;
+   private boolean animated = false;
+   private Duration animationDuration = AbstractSide.DEFAULT_ANIMATION_DURATION;
+   private DividerResizeMode dividerResizeMode = DividerResizeMode.LIVE;
+   private double minDrawerSize = 0;
+   private double maxDrawerPercentageOfScene = AbstractSide.DEFAULT_MAX_PERCENTAGE_OF_SCENE;
+   // Overlay of frame and drawer timings. Null unless visible.
+   private PerformanceHud performanceHud;
+   // Creates the visible sides once this pane is within a Scene.
+   private final InvalidationListener sceneListener = observable -> createVisibleSides();
 
    public DrawerPane() {
-      borderPane.setTop(top);
-      borderPane.setLeft(leftSide);
-      borderPane.setBottom(bottom);
-      borderPane.setRight(rightSide);
-
       getChildren().add(borderPane);
+      sceneProperty().addListener(sceneListener);
 
       setPrefSize(Double.MAX_VALUE, Double.MAX_VALUE);
       borderPane.prefWidthProperty().bind(widthProperty());
@@ -58,7 +100,8 @@ public class DrawerPane extends Pane {
          return;
       }
 
-      Arrays.stream(nodes).forEach(top::addNode);
+      final AbstractSide side = getOrCreateSide(Position.Top);
+      Arrays.stream(nodes).forEach(side::addNode);
    }
 
    /**
@@ -69,7 +112,8 @@ public class DrawerPane extends Pane {
          return;
       }
 
-      Arrays.stream(nodes).forEach(rightSide::addNode);
+      final AbstractSide side = getOrCreateSide(Position.Right);
+      Arrays.stream(nodes).forEach(side::addNode);
    }
 
    /**
@@ -80,7 +124,8 @@ public class DrawerPane extends Pane {
          return;
       }
 
-      Arrays.stream(nodes).forEach(bottom::addNode);
+      final AbstractSide side = getOrCreateSide(Position.Bottom);
+      Arrays.stream(nodes).forEach(side::addNode);
    }
 
    /**
@@ -91,7 +136,8 @@ public class DrawerPane extends Pane {
          return;
       }
 
-      Arrays.stream(nodes).forEach(leftSide::addNode);
+      final AbstractSide side = getOrCreateSide(Position.Left);
+      Arrays.stream(nodes).forEach(side::addNode);
    }
 
    /**
@@ -99,14 +145,20 @@ public class DrawerPane extends Pane {
     * {@link DrawerNode} is bound to (or floating).
     */
    public void show(final DrawerNode node) {
-      getContainingSide(node).ifPresent(side -> side.showNode(node));
+      final AbstractSide side = getContainingSide(node);
+      if (side != null) {
+         side.showNode(node);
+      }
    }
 
    /**
     * Hides an opened {@link DrawerNode}.
     */
    public void hide(final DrawerNode node) {
-      getContainingSide(node).ifPresent(side -> side.hideNode(node));
+      final AbstractSide side = getContainingSide(node);
+      if (side != null) {
+         side.hideNode(node);
+      }
    }
 
    /**
@@ -117,87 +169,475 @@ public class DrawerPane extends Pane {
          return;
       }
 
-      getContainingSide(node).ifPresent(side -> side.removeNode(node));
+      final AbstractSide side = getContainingSide(node);
+      if (side != null) {
+         side.removeNode(node);
+      }
    }
 
    /**
-    * Determines the {@link AbstractSide} that the passed in {@link DrawerNode}
-    * is contained within.
+    * Apply a set of changes to this pane as a single update. The passed in
+    * {@link Consumer} records additions, moves, removals, show/hide,
+    * float/dock and disable/enable changes against a {@link DrawerPaneEditor}.
+    * Once the {@link Consumer} returns, the net change is applied to each side
+    * at once - e.g. each side's drawers and dividers are only updated a single
+    * time, regardless of the number of changes. Nothing is applied if the
+    * {@link Consumer} throws.
+    */
+   public void batch(final Consumer<DrawerPaneEditor> edits) {
+      if (edits == null) {
+         return;
+      }
+
+      final DrawerPaneEditor editor = new DrawerPaneEditor(registry.getModel());
+      edits.accept(editor);
+      apply(editor.getModel());
+   }
+
+   /**
+    * Apply the difference between the current layout of this pane and the
+    * passed in layout to the sides.
+    */
+   private void apply(final DrawerLayoutModel<DrawerNode> layout) {
+      for (Position position : Position.values()) {
+         if (!layout.getDrawers(position).isEmpty()) {
+            getOrCreateSide(position);
+         }
+      }
+
+      // Diff against a copy, as the sides update the current layout as the
+      // changes are applied.
+      final DrawerLayoutModel<DrawerNode> current = new DrawerLayoutModel<>(registry.getModel());
+
+      // Drawers new to this pane are recorded with their own state when
+      // added to a side. Diff from that state, so that the state within the
+      // passed in layout is applied to them.
+      for (Position position : Position.values()) {
+         for (DrawerNode node : layout.getDrawers(position)) {
+            if (!current.contains(node)) {
+               current.setOpen(node, node.isVisible());
+               current.setFloating(node, node.isFloating());
+               current.setDisabled(node, node.isDisable());
+            }
+         }
+      }
+
+      final List<AbstractSide> sides = new ArrayList<>(this.sides.values());
+      sides.forEach(AbstractSide::beginBatch);
+      try {
+         // Detach all moved nodes first, so that each node is only within
+         // a single side when the sides are updated. Otherwise, a node moved
+         // to a later side would be removed (and closed) by its old side.
+         for (Position position : Position.values()) {
+            final AbstractSide side = getSide(position);
+            for (DrawerNode node : layout.getDrawers(position)) {
+               final AbstractSide currentSide = getContainingSide(node);
+               if (currentSide != null && currentSide != side) {
+                  currentSide.detachNode(node);
+               }
+            }
+         }
+
+         DrawerLayoutModel.diff(current, layout, new LayoutModelListener());
+      } finally {
+         sides.forEach(AbstractSide::endBatch);
+      }
+   }
+
+   /**
+    * Applies the changes reported by a {@link DrawerLayoutModel} diff to the sides.
     */
-   private Optional<AbstractSide> getContainingSide(final DrawerNode node) {
-      if (getTopNodes().contains(node)) {
-         return Optional.of(top);
+   private class LayoutModelListener implements DrawerLayoutModel.Listener<DrawerNode> {
+      @Override
+      public void removed(final DrawerNode node) {
+         remove(node);
+      }
+
+      @Override
+      public void sideChanged(final Position position,
+                              final List<DrawerNode> nodes) {
+         getOrCreateSide(position).setNodes(new ArrayList<>(nodes));
+      }
+
+      @Override
+      public void floatingChanged(final DrawerNode node,
+                                  final boolean floating) {
+         final AbstractSide side = getContainingSide(node);
+         if (side != null) {
+            side.setFloating(node, floating);
+         }
+      }
+
+      @Override
+      public void disabledChanged(final DrawerNode node,
+                                  final boolean disabled) {
+         setNodeDisable(node, disabled);
       }
 
-      if (getRightNodes().contains(node)) {
-         return Optional.of(rightSide);
+      @Override
+      public void openChanged(final DrawerNode node,
+                              final boolean open) {
+         if (open) {
+            show(node);
+         } else {
+            hide(node);
+         }
       }
 
-      if (getBottomNodes().contains(node)) {
-         return Optional.of(bottom);
+      @Override
+      public void sizeChanged(final Position position,
+                              final double size) {
+         getOrCreateSide(position).setDrawerSize(size);
       }
+   }
+
+   /**
+    * Capture the current layout of this pane - the side, order, open,
+    * floating and disabled state of each {@link DrawerNode}, and the size
+    * and divider positions of each side.
+    */
+   public DrawerLayout captureLayout() {
+      final List<DrawerLayout.DrawerState> drawers = new ArrayList<>();
+      final Map<Position, DrawerLayout.SideState> sides = new EnumMap<>(Position.class);
+
+      final DrawerLayoutModel<DrawerNode> model = registry.getModel();
+      for (AbstractSide side : this.sides.values()) {
+         final Position position = side.getPosition();
+         final List<DrawerNode> nodes = model.getDrawers(position);
+         for (int i = 0; i < nodes.size(); i++) {
+            final DrawerNode node = nodes.get(i);
+            drawers.add(new DrawerLayout.DrawerState(DrawerLayout.keyOf(node),
+               position,
+               i,
+               model.isOpen(node),
+               model.isFloating(node),
+               model.isDisabled(node),
+               toOptionalDouble(node.getFloatingX()),
+               toOptionalDouble(node.getFloatingY())));
+         }
+
+         sides.put(position, new DrawerLayout.SideState(position,
+            model.getSize(position),
+            side.getDividerPositions()));
+      }
+
+      return new DrawerLayout(drawers, sides);
+   }
+
+   private static OptionalDouble toOptionalDouble(final Optional<Double> value) {
+      return value.map(OptionalDouble::of).orElse(OptionalDouble.empty());
+   }
+
+   /**
+    * Apply a previously captured layout to this pane, as a single
+    * {@link #batch(Consumer)} update. Intended to be called before the
+    * pane is first shown, so the restored layout is the first one rendered.
+    * Only {@link DrawerNode}s already added to this pane are affected -
+    * {@link DrawerNode}s within the layout, but not this pane, are ignored.
+    * {@link DrawerNode}s within this pane, but not the layout, are left on
+    * their current side, after the restored {@link DrawerNode}s.
+    * Floating {@link DrawerNode}s are floated once this pane's window is showing.
+    */
+   public void restoreLayout(final DrawerLayout layout) {
+      if (layout == null) {
+         return;
+      }
+
+      final Map<String, DrawerNode> nodesByKey = new HashMap<>();
+      for (Position position : Position.values()) {
+         for (DrawerNode node : registry.getModel().getDrawers(position)) {
+            nodesByKey.putIfAbsent(DrawerLayout.keyOf(node), node);
+         }
+      }
+
+      final List<DrawerLayout.DrawerState> drawers = new ArrayList<>(layout.getDrawers());
+      drawers.sort(Comparator.comparingInt(DrawerLayout.DrawerState::getIndex));
+
+      batch(editor -> {
+         final Map<Position, Integer> nextIndex = new EnumMap<>(Position.class);
+         for (DrawerLayout.DrawerState state : drawers) {
+            final DrawerNode node = nodesByKey.remove(state.getKey());
+            if (node == null || !node.isValidPosition(state.getPosition())) {
+               continue;
+            }
+
+            final int index = nextIndex.merge(state.getPosition(), 1, Integer::sum) - 1;
+            editor.move(node, state.getPosition(), index);
+            editor.setDisable(node, state.isDisabled());
+            if (node.canFloat()) {
+               editor.setFloating(node, state.isFloating());
+            }
+            if (state.isOpen() && !state.isDisabled()) {
+               editor.show(node);
+            } else {
+               editor.hide(node);
+            }
+
+            state.getFloatingX().ifPresent(node::setFloatingX);
+            state.getFloatingY().ifPresent(node::setFloatingY);
+         }
+      });
+
+      // After the batch, as the batch resets the divider positions of changed sides.
+      for (AbstractSide side : sides.values()) {
+         layout.getSide(side.getPosition()).ifPresent(sideState -> {
+            sideState.getSize().ifPresent(side::setDrawerSize);
+            side.setDividerPositions(sideState.getDividerPositions());
+         });
+      }
+   }
+
+   /**
+    * Add a listener to be called each time the layout of this pane changes.
+    */
+   void addLayoutChangeListener(final Runnable listener) {
+      registry.addChangeListener(listener);
+   }
+
+   void removeLayoutChangeListener(final Runnable listener) {
+      registry.removeChangeListener(listener);
+   }
+
+   /**
+    * The side at the passed in {@link Position}. Null if the side has not
+    * been created.
+    */
+   AbstractSide getSide(final Position position) {
+      return sides.get(position);
+   }
+
+   /**
+    * The side at the passed in {@link Position}. Creates the side, and
+    * applies the side's settings, if the side has not been created.
+    */
+   private AbstractSide getOrCreateSide(final Position position) {
+      AbstractSide side = sides.get(position);
+      if (side != null) {
+         return side;
+      }
+
+      side = Position.Top.equals(position) || Position.Bottom.equals(position)
+         ? new HorizontalSide(position, dragState, registry, floatingWindows, internalWindows, metrics)
+         : new VerticalSide(position, dragState, registry, floatingWindows, internalWindows, metrics);
+      side.setAllowMultipleOpenDrawers(!singleOpenDrawerSides.contains(position));
+      side.setVirtualized(toolbarsVirtualized);
+      side.setCanvasRendered(toolbarsCanvasRendered);
+      side.setPrefetch(prefetchOnHover);
+      side.setFloatingMode(floatingMode);
+      side.setAnimated(animated);
+      side.setAnimationDuration(animationDuration);
+      side.setResizeMode(dividerResizeMode);
+      side.setDrawerSizeConstraints(minDrawerSize, maxDrawerPercentageOfScene);
+      sides.put(position, side);
+
+      if (!hiddenSides.contains(position)) {
+         placeSide(position, side);
+      }
+
+      if (sides.size() == Position.values().length) {
+         sceneProperty().removeListener(sceneListener);
+      }
+
+      return side;
+   }
+
+   /**
+    * Create the sides that are visible, once this pane is within a
+    * {@link Scene}, so that their toolbars are shown (and can be dropped onto).
+    */
+   private void createVisibleSides() {
+      if (getScene() == null) {
+         return;
+      }
+
+      for (Position position : Position.values()) {
+         if (!hiddenSides.contains(position)) {
+            getOrCreateSide(position);
+         }
+      }
+   }
+
+   /**
+    * Place a side within the {@link BorderPane}. Null to remove the side.
+    */
+   private void placeSide(final Position position,
+                          final AbstractSide side) {
+      switch (position) {
+         case Top:
+            borderPane.setTop(side);
+            break;
+         case Right:
+            borderPane.setRight(side);
+            break;
+         case Bottom:
+            borderPane.setBottom(side);
+            break;
+         default:
+            borderPane.setLeft(side);
+            break;
+      }
+   }
+
+   /**
+    * Toggle a side visible/invisible. A side is created when made visible
+    * within a {@link Scene}.
+    */
+   private void setSideVisible(final Position position,
+                               final boolean visible) {
+      if (visible) {
+         hiddenSides.remove(position);
+         if (sides.containsKey(position) || getScene() != null) {
+            placeSide(position, getOrCreateSide(position));
+         }
+      } else {
+         hiddenSides.add(position);
+         placeSide(position, null);
+      }
+   }
+
+   /**
+    * Call to allow multiple or a single open drawer within a side.
+    */
+   private void setAllowMultipleOpenDrawers(final Position position,
+                                            final boolean allow) {
+      if (allow) {
+         singleOpenDrawerSides.remove(position);
+      } else {
+         singleOpenDrawerSides.add(position);
+      }
+
+      final AbstractSide side = getSide(position);
+      if (side != null) {
+         side.setAllowMultipleOpenDrawers(allow);
+      }
+   }
+
+   /**
+    * The {@link DrawerNode}s of a side. Empty if the side has not been created.
+    */
+   private List<DrawerNode> getNodes(final Position position) {
+      return Collections.unmodifiableList(new ArrayList<>(registry.getModel().getDrawers(position)));
+   }
+
+   /**
+    * The layout of this pane - the side, order and state of each
+    * {@link DrawerNode}. The returned model is a copy - changes to this pane
+    * are not reflected within it, and changes to it are not applied to this
+    * pane until passed to {@link #applyLayoutModel(DrawerLayoutModel)}.
+    */
+   public DrawerLayoutModel<DrawerNode> getLayoutModel() {
+      return new DrawerLayoutModel<>(registry.getModel());
+   }
+
+   /**
+    * Change the layout of this pane to match the passed in model, as a single
+    * {@link #batch(Consumer)} update. Only the differences between the
+    * current layout and the passed in model are applied.
+    */
+   public void applyLayoutModel(final DrawerLayoutModel<DrawerNode> layout) {
+      if (layout == null) {
+         throw new IllegalArgumentException("layout must not be null");
+      }
+
+      for (Position position : Position.values()) {
+         for (DrawerNode node : layout.getDrawers(position)) {
+            if (layout.isFloating(node) && !node.canFloat()) {
+               throw new IllegalArgumentException("Cannot set floating to true when canFloat is false!");
+            }
+         }
+      }
+
+      apply(layout);
+   }
+
+   /**
+    * Determines the {@link Position} of the side that the passed in
+    * {@link DrawerNode} is contained within. Empty if the {@link DrawerNode}
+    * is not contained within this pane.
+    */
+   public Optional<Position> getPosition(final DrawerNode node) {
+      return Optional.ofNullable(registry.getPosition(node));
+   }
+
+   /**
+    * Determines the {@link AbstractSide} that the passed in {@link DrawerNode}
+    * is contained within. Null if the {@link DrawerNode} is not contained
+    * within this pane.
+    */
+   AbstractSide getContainingSide(final DrawerNode node) {
+      return registry.getSide(node);
+   }
 
-      if (getLeftNodes().contains(node)) {
-         return Optional.of(leftSide);
+   /**
+    * Live, read-only list of the {@link DrawerNode}s of a side of this pane.
+    * Unlike {@link #getTopNodes()} etc. the list is not a copy - it is
+    * updated once per pulse with the net changes to the side (a moved
+    * {@link DrawerNode} is removed then added), so it can be observed or
+    * bound to. {@link DrawerEvent}s are fired at this pane along with the
+    * list updates.
+    */
+   public ObservableList<DrawerNode> getObservableNodes(final Position position) {
+      if (position == null) {
+         throw new IllegalArgumentException("position must not be null");
       }
 
-      return Optional.empty();
+      return changeTracker.getNodes(position);
    }
 
    /**
     * Get the {@link DrawerNode}s from the top of this pane.
     */
    public List<DrawerNode> getTopNodes() {
-      return Collections.unmodifiableList(top.getNodes());
+      return getNodes(Position.Top);
    }
 
    /**
     * Get the {@link DrawerNode}s from the right of this pane.
     */
    public List<DrawerNode> getRightNodes() {
-      return Collections.unmodifiableList(rightSide.getNodes());
+      return getNodes(Position.Right);
    }
 
    /**
     * Get the {@link DrawerNode}s from the bottom of this pane.
     */
    public List<DrawerNode> getBottomNodes() {
-      return Collections.unmodifiableList(bottom.getNodes());
+      return getNodes(Position.Bottom);
    }
 
    /**
     * Get the {@link DrawerNode}s from the left of this pane.
     */
    public List<DrawerNode> getLeftNodes() {
-      return Collections.unmodifiableList(leftSide.getNodes());
+      return getNodes(Position.Left);
    }
 
    /**
     * Toggle the top toolbar and {@link DrawerPane}s visible/invisible.
     */
    public void setTopVisible(final boolean visible) {
-      borderPane.setTop(visible ? top : null);
+      setSideVisible(Position.Top, visible);
    }
 
    /**
     * Toggle the right toolbar and {@link DrawerPane}s visible/invisible.
     */
    public void setRightVisible(final boolean visible) {
-      borderPane.setRight(visible ? rightSide : null);
+      setSideVisible(Position.Right, visible);
    }
 
    /**
     * Toggle the bottom toolbar and {@link DrawerPane}s visible/invisible.
     */
    public void setBottomVisible(final boolean visible) {
-      borderPane.setBottom(visible ? bottom : null);
+      setSideVisible(Position.Bottom, visible);
    }
 
    /**
     * Toggle the left toolbar and {@link DrawerPane}s visible/invisible.
     */
    public void setLeftVisible(final boolean visible) {
-      borderPane.setLeft(visible ? leftSide : null);
+      setSideVisible(Position.Left, visible);
    }
 
    /**
@@ -205,7 +645,7 @@ public class DrawerPane extends Pane {
     * the pane. False to only allow a single drawer to be open.
     */
    public void setTopAllowMultipleOpenDrawers(final boolean allow) {
-      top.setAllowMultipleOpenDrawers(allow);
+      setAllowMultipleOpenDrawers(Position.Top, allow);
    }
 
    /**
@@ -213,7 +653,7 @@ public class DrawerPane extends Pane {
     * the pane. False to only allow a single drawer to be open.
     */
    public void setRightAllowMultipleOpenDrawers(final boolean allow) {
-      rightSide.setAllowMultipleOpenDrawers(allow);
+      setAllowMultipleOpenDrawers(Position.Right, allow);
    }
 
    /**
@@ -221,7 +661,7 @@ public class DrawerPane extends Pane {
     * the pane. False to only allow a single drawer to be open.
     */
    public void setBottomAllowMultipleOpenDrawers(final boolean allow) {
-      bottom.setAllowMultipleOpenDrawers(allow);
+      setAllowMultipleOpenDrawers(Position.Bottom, allow);
    }
 
    /**
@@ -229,7 +669,164 @@ public class DrawerPane extends Pane {
     * the pane. False to only allow a single drawer to be open.
     */
    public void setLeftAllowMultipleOpenDrawers(final boolean allow) {
-      bottom.setAllowMultipleOpenDrawers(allow);
+      setAllowMultipleOpenDrawers(Position.Left, allow);
+   }
+
+   /**
+    * True to only create toolbar buttons for the drawers that fit within
+    * each side's toolbar. The drawers that do not fit are listed within an
+    * overflow menu at the end of the toolbar. Buttons are created as
+    * needed and reused as the sides are resized. Intended for panes that
+    * contain a very large number of drawers. Defaults to false.
+    */
+   public void setToolbarsVirtualized(final boolean virtualized) {
+      toolbarsVirtualized = virtualized;
+      sides.values().forEach(side -> side.setVirtualized(virtualized));
+   }
+
+   /**
+    * True to draw each side's toolbar on a single canvas, rather than
+    * creating a button for each drawer. The drawers that do not fit are
+    * listed within an overflow menu at the end of the toolbar. Intended for
+    * sides with hundreds of drawers. The toolbar colors are set with the
+    * drawerpanefx-canvas-toolbar style class. Defaults to false.
+    */
+   public void setToolbarsCanvasRendered(final boolean canvasRendered) {
+      toolbarsCanvasRendered = canvasRendered;
+      sides.values().forEach(side -> side.setCanvasRendered(canvasRendered));
+   }
+
+   /**
+    * True to prepare a drawer's contents when the pointer rests on the
+    * drawer's toolbar button - building the contents (for drawers created
+    * with a contents factory), applying CSS and laying out the contents off
+    * screen - so that the first show of the drawer is fast. Defaults to false.
+    */
+   public void setPrefetchOnHover(final boolean prefetch) {
+      prefetchOnHover = prefetch;
+      sides.values().forEach(side -> side.setPrefetch(prefetch));
+   }
+
+   /**
+    * How floating drawers are displayed - within their own native windows
+    * (the default), or within internal windows that are drawn over this
+    * pane. Internal windows avoid the cost of creating native windows. Can
+    * be overridden per drawer with {@link DrawerNode#setFloatingMode(FloatingMode)}.
+    * Applies to drawers floated from now on.
+    */
+   public void setFloatingMode(final FloatingMode mode) {
+      if (mode == null) {
+         throw new IllegalArgumentException("mode must not be null");
+      }
+
+      floatingMode = mode;
+      sides.values().forEach(side -> side.setFloatingMode(mode));
+   }
+
+   /**
+    * Warm up the hidden drawers while the application is idle, using up to
+    * 4ms of each frame. See {@link #startWarmUp(Duration)}.
+    */
+   public DrawerWarmUp startWarmUp() {
+      return startWarmUp(DEFAULT_WARM_UP_FRAME_BUDGET);
+   }
+
+   /**
+    * Warm up the hidden drawers while the application is idle - building
+    * their contents, applying CSS and laying them out off screen - so that
+    * opening them later only costs attaching them. Drawers are warmed most
+    * recently shown first, then in toolbar order. The work is spread across
+    * frames, and pauses while the user is interacting with the application.
+    * Cancels any warm up that is still running.
+    * @param frameBudget Max time to spend warming per frame.
+    * @return Used to follow the progress of, or cancel, the warm up.
+    */
+   public DrawerWarmUp startWarmUp(final Duration frameBudget) {
+      if (frameBudget == null || !frameBudget.greaterThan(Duration.ZERO)) {
+         throw new IllegalArgumentException("frameBudget must be greater than zero");
+      }
+
+      if (warmUp != null) {
+         warmUp.cancel();
+      }
+
+      final List<DrawerNode> nodes = new ArrayList<>();
+      for (Position position : Position.values()) {
+         nodes.addAll(getNodes(position));
+      }
+      // Stable sort, so never shown drawers stay in toolbar order.
+      nodes.sort(Comparator.comparingLong(registry::getLastUsed).reversed());
+
+      warmUp = new DrawerWarmUp(registry, nodes, (long)(frameBudget.toMillis() * 1_000_000), this);
+      warmUp.start();
+      return warmUp;
+   }
+
+   /**
+    * True to slide the drawers of each side in/out when the first drawer of
+    * the side is shown, or the last drawer of the side is hidden. The
+    * drawers are slid as a bitmap cached layer, with the pane only laid out
+    * once per show/hide. Defaults to false.
+    */
+   public void setAnimated(final boolean animated) {
+      this.animated = animated;
+      sides.values().forEach(side -> side.setAnimated(animated));
+   }
+
+   /**
+    * Duration of the slide in/out of drawers when animated. Defaults to 200ms.
+    */
+   public void setAnimationDuration(final Duration duration) {
+      if (duration == null || duration.lessThan(Duration.ZERO)) {
+         throw new IllegalArgumentException("duration must not be null or negative");
+      }
+
+      animationDuration = duration;
+      sides.values().forEach(side -> side.setAnimationDuration(duration));
+   }
+
+   /**
+    * How the sides are resized while their dividers are dragged. Defaults
+    * to {@link DividerResizeMode#LIVE}. {@link DividerResizeMode#GHOST}
+    * avoids laying out the pane while dragging - e.g. when the center
+    * contains content that is expensive to lay out.
+    */
+   public void setDividerResizeMode(final DividerResizeMode mode) {
+      if (mode == null) {
+         throw new IllegalArgumentException("mode must not be null");
+      }
+
+      dividerResizeMode = mode;
+      sides.values().forEach(side -> side.setResizeMode(mode));
+   }
+
+   /**
+    * Min width (left/right) or height (top/bottom) that the drawers can be
+    * resized to with the dividers. Defaults to 0.
+    */
+   public void setMinDrawerSize(final double size) {
+      if (size < 0) {
+         throw new IllegalArgumentException("size must not be negative");
+      }
+
+      minDrawerSize = size;
+      sides.values().forEach(side ->
+         side.setDrawerSizeConstraints(minDrawerSize, maxDrawerPercentageOfScene));
+   }
+
+   /**
+    * Max width (left/right) or height (top/bottom) that the drawers can be
+    * resized to with the dividers, as a percentage (0 - 1) of the scene's
+    * width/height. Defaults to .30.
+    */
+   public void setMaxDrawerPercentageOfScene(final double percentage) {
+      if (percentage <= 0 || percentage > 1) {
+         throw new IllegalArgumentException("percentage must be > 0 and <= 1");
+      }
+
+      maxDrawerPercentageOfScene = percentage;
+      sides.values().forEach(side ->
+         side.setDrawerSizeConstraints(minDrawerSize, maxDrawerPercentageOfScene));
    }
 
    /**
@@ -240,23 +837,136 @@ public class DrawerPane extends Pane {
     */
    public void setNodeDisable(final DrawerNode node,
                               final boolean disable) {
-      setNodeDisable(top, getTopNodes(), node, disable);
-      setNodeDisable(rightSide, getRightNodes(), node, disable);
-      setNodeDisable(bottom, getBottomNodes(), node, disable);
-      setNodeDisable(leftSide, getLeftNodes(), node, disable);
+      final AbstractSide side = getContainingSide(node);
+      if (side != null) {
+         side.disable(node, disable);
+      }
+   }
+
+   /**
+    * Max number of closed floating windows to keep for reuse. Floating windows
+    * are hidden, rather than destroyed, when closed so that re-floating a
+    * {@link DrawerNode} re-shows its existing window. The least recently used
+    * closed windows beyond this limit are disposed. Defaults to 10. Zero
+    * disables reuse.
+    */
+   public void setFloatingWindowCacheSize(final int size) {
+      floatingWindows.setMaxCachedWindows(size);
+   }
+
+   /**
+    * Dispose of all closed floating windows that are being kept for reuse.
+    * Floating windows that are currently showing are not affected.
+    */
+   public void disposeFloatingWindows() {
+      floatingWindows.disposeHidden();
+   }
+
+   /**
+    * Start recording operation metrics for this pane - counts and latencies
+    * of show/hide/dock/float/drop/remove operations, and the number of
+    * docked and floating drawers - and register the metrics as a
+    * {@link DrawerPaneMetricsMXBean} with the platform MBean server, under
+    * "com.chainstaysoftware.controls.drawerpanefx:type=DrawerPane,name=[name]".
+    * Metrics are not recorded until registered.
+    * @throws IllegalArgumentException if the name is not a valid JMX name.
+    * @throws IllegalStateException if the metrics cannot be registered (e.g.
+    *                               the name is already registered).
+    */
+   public void registerMetrics(final String name) {
+      if (name == null) {
+         throw new IllegalArgumentException("name must not be null");
+      }
+
+      unregisterMetrics();
+
+      final ObjectName objectName;
+      try {
+         objectName = new ObjectName("com.chainstaysoftware.controls.drawerpanefx:type=DrawerPane,name="
+            + ObjectName.quote(name));
+      } catch (JMException ex) {
+         throw new IllegalArgumentException("Invalid metrics name - " + name, ex);
+      }
+
+      try {
+         ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+      } catch (JMException ex) {
+         throw new IllegalStateException("Unable to register metrics - " + objectName, ex);
+      }
+
+      metricsName = objectName;
+      metrics.setEnabled(true);
+      registry.addChangeListener(metricsListener);
+      updateMetricsGauges();
    }
 
    /**
-    * Call to disable/enable a {@link DrawerNode}.
+    * Stop recording operation metrics for this pane, and unregister the
+    * metrics from the platform MBean server. A NOOP if not registered.
     */
-   private void setNodeDisable(final AbstractSide side,
-                               final List<DrawerNode> nodes,
-                               final DrawerNode node,
-                               final boolean disable) {
-      nodes.stream()
-         .filter(n -> n.equals(node))
-         .findFirst()
-         .ifPresent(n -> side.disable(node, disable));
+   public void unregisterMetrics() {
+      if (metricsName == null) {
+         return;
+      }
+
+      registry.removeChangeListener(metricsListener);
+      metrics.setEnabled(false);
+
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      try {
+         if (server.isRegistered(metricsName)) {
+            server.unregisterMBean(metricsName);
+         }
+      } catch (JMException ex) {
+         throw new IllegalStateException("Unable to unregister metrics - " + metricsName, ex);
+      } finally {
+         metricsName = null;
+      }
+   }
+
+   /**
+    * Show/hide an overlay with the frame rate and frame times of this pane,
+    * and the CSS time, layout time and node count of each open
+    * {@link DrawerNode}. Meant for diagnosing slow drawers. While hidden
+    * (the default) the overlay adds no nodes or listeners.
+    */
+   public void setPerformanceHudVisible(final boolean visible) {
+      if (visible && performanceHud == null) {
+         performanceHud = new PerformanceHud(this, this::getOpenNodes);
+         performanceHud.attach();
+      } else if (!visible && performanceHud != null) {
+         performanceHud.detach();
+         performanceHud = null;
+      }
+   }
+
+   /**
+    * The open (docked or floating) {@link DrawerNode}s whose contents
+    * have been built.
+    */
+   private List<DrawerNode> getOpenNodes() {
+      final List<DrawerNode> open = new ArrayList<>();
+      for (AbstractSide side : sides.values()) {
+         for (DrawerNode node : side.getNodes()) {
+            if (node.isContentsBuilt() && side.isOpen(node)) {
+               open.add(node);
+            }
+         }
+      }
+      return open;
+   }
+
+   /**
+    * Update the docked/floating drawer and floating window counts.
+    */
+   private void updateMetricsGauges() {
+      for (Position position : Position.values()) {
+         final AbstractSide side = getSide(position);
+         metrics.setSideCounts(position,
+            side == null ? 0 : side.getDockedCount(),
+            side == null ? 0 : side.getFloatingCount());
+      }
+      metrics.setFloatingStageCount(floatingWindows.getWindowCount());
    }
 
    /**
@@ -0,0 +1,125 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.Arrays;
+
+/**
+ * Records changes to a {@link DrawerPane} within {@link DrawerPane#batch(java.util.function.Consumer)}.
+ * None of the changes are applied to the {@link DrawerPane} until the batch
+ * completes. The changes are then applied as a single net change per side, so
+ * a {@link DrawerNode} that is added and then moved, or shown and then hidden,
+ * only results in its final state being applied. The changes are recorded
+ * against a copy of the {@link DrawerPane}'s {@link DrawerLayoutModel}.
+ */
+public final class DrawerPaneEditor {
+   private final DrawerLayoutModel<DrawerNode> model;
+
+   /**
+    * @param current Layout of the {@link DrawerPane}. Copied, not changed.
+    */
+   DrawerPaneEditor(final DrawerLayoutModel<DrawerNode> current) {
+      this.model = new DrawerLayoutModel<>(current);
+   }
+
+   /**
+    * Add {@link DrawerNode}s to the end of a side. A {@link DrawerNode} that is
+    * already within the {@link DrawerPane} is moved to the end of the side.
+    * A {@link DrawerNode} that is new to the {@link DrawerPane} is added hidden,
+    * docked and enabled - unless shown, floated or disabled within the batch.
+    */
+   public DrawerPaneEditor add(final Position position,
+                               final DrawerNode... nodes) {
+      if (position == null) {
+         throw new IllegalArgumentException("position must not be null");
+      }
+
+      if (nodes == null) {
+         return this;
+      }
+
+      Arrays.stream(nodes).forEach(node -> move(node, position, Integer.MAX_VALUE));
+      return this;
+   }
+
+   /**
+    * Move a {@link DrawerNode} to a position index (0 based) within a side.
+    * The index is clamped to the side's number of {@link DrawerNode}s. Adds the
+    * {@link DrawerNode} if it is not already within the {@link DrawerPane}.
+    */
+   public DrawerPaneEditor move(final DrawerNode node,
+                                final Position position,
+                                final int index) {
+      if (position == null) {
+         throw new IllegalArgumentException("position must not be null");
+      }
+
+      if (node != null) {
+         model.move(node, position, index);
+      }
+      return this;
+   }
+
+   /**
+    * Remove a {@link DrawerNode} from the {@link DrawerPane}.
+    */
+   public DrawerPaneEditor remove(final DrawerNode node) {
+      if (node != null) {
+         model.remove(node);
+      }
+      return this;
+   }
+
+   /**
+    * Reveal a {@link DrawerNode} (docked or floating).
+    */
+   public DrawerPaneEditor show(final DrawerNode node) {
+      if (node != null) {
+         model.setOpen(node, true);
+      }
+      return this;
+   }
+
+   /**
+    * Hide a {@link DrawerNode}.
+    */
+   public DrawerPaneEditor hide(final DrawerNode node) {
+      if (node != null) {
+         model.setOpen(node, false);
+      }
+      return this;
+   }
+
+   /**
+    * Float/dock a {@link DrawerNode}.
+    */
+   public DrawerPaneEditor setFloating(final DrawerNode node,
+                                       final boolean floating) {
+      if (node == null) {
+         return this;
+      }
+
+      if (floating && !node.canFloat()) {
+         throw new IllegalArgumentException("Cannot set floating to true when canFloat is false!");
+      }
+
+      model.setFloating(node, floating);
+      return this;
+   }
+
+   /**
+    * Disable/enable a {@link DrawerNode}.
+    */
+   public DrawerPaneEditor setDisable(final DrawerNode node,
+                                      final boolean disable) {
+      if (node != null) {
+         model.setDisabled(node, disable);
+      }
+      return this;
+   }
+
+   /**
+    * Layout of the {@link DrawerPane} once the batch is applied.
+    */
+   DrawerLayoutModel<DrawerNode> getModel() {
+      return model;
+   }
+}
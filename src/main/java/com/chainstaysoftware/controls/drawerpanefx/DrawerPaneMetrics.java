@@ -0,0 +1,208 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Operation metrics of a {@link DrawerPane}. Shared between the sides of a
+ * {@link DrawerPane}. Recorded on the JavaFx application thread, and read
+ * from JMX threads, so all values are held within atomics. Recording does
+ * not allocate, and is a NOOP while disabled.
+ */
+class DrawerPaneMetrics implements DrawerPaneMetricsMXBean {
+   /**
+    * Operations that are counted and timed.
+    */
+   enum Operation {
+      SHOW, HIDE, DOCK, FLOAT, DROP, REMOVE
+   }
+
+   private static final int OPERATIONS = Operation.values().length;
+   private static final int POSITIONS = Position.values().length;
+
+   private final AtomicLongArray counts = new AtomicLongArray(OPERATIONS);
+   private final AtomicLongArray latencies = new AtomicLongArray(OPERATIONS * LATENCY_BUCKETS);
+   private final AtomicIntegerArray dockedCounts = new AtomicIntegerArray(POSITIONS);
+   private final AtomicIntegerArray floatingCounts = new AtomicIntegerArray(POSITIONS);
+   private final AtomicInteger floatingStageCount = new AtomicInteger();
+   private final AtomicLong itemChangeCount = new AtomicLong();
+   private final AtomicLong dragOverCount = new AtomicLong();
+
+   private boolean enabled = false;
+
+   void setEnabled(final boolean enabled) {
+      this.enabled = enabled;
+   }
+
+   boolean isEnabled() {
+      return enabled;
+   }
+
+   /**
+    * Start timing an operation.
+    * @return Start time to pass to {@link #record(Operation, long)}.
+    */
+   long start() {
+      return enabled ? System.nanoTime() : 0;
+   }
+
+   /**
+    * Count an operation, and record its latency.
+    * @param startNanos Value returned from {@link #start()}.
+    */
+   void record(final Operation operation,
+               final long startNanos) {
+      if (!enabled || startNanos == 0) {
+         return;
+      }
+
+      final long micros = (System.nanoTime() - startNanos) / 1000;
+      final int bucket = Math.min(LATENCY_BUCKETS - 1, 63 - Long.numberOfLeadingZeros(Math.max(1, micros)));
+      counts.incrementAndGet(operation.ordinal());
+      latencies.incrementAndGet(operation.ordinal() * LATENCY_BUCKETS + bucket);
+   }
+
+   void countItemChange() {
+      if (enabled) {
+         itemChangeCount.incrementAndGet();
+      }
+   }
+
+   void countDragOver() {
+      if (enabled) {
+         dragOverCount.incrementAndGet();
+      }
+   }
+
+   /**
+    * Update the number of docked and floating drawers of a side.
+    */
+   void setSideCounts(final Position position,
+                      final int docked,
+                      final int floating) {
+      dockedCounts.set(position.ordinal(), docked);
+      floatingCounts.set(position.ordinal(), floating);
+   }
+
+   void setFloatingStageCount(final int count) {
+      floatingStageCount.set(count);
+   }
+
+   @Override
+   public long getShowCount() {
+      return counts.get(Operation.SHOW.ordinal());
+   }
+
+   @Override
+   public long getHideCount() {
+      return counts.get(Operation.HIDE.ordinal());
+   }
+
+   @Override
+   public long getDockCount() {
+      return counts.get(Operation.DOCK.ordinal());
+   }
+
+   @Override
+   public long getFloatCount() {
+      return counts.get(Operation.FLOAT.ordinal());
+   }
+
+   @Override
+   public long getDropCount() {
+      return counts.get(Operation.DROP.ordinal());
+   }
+
+   @Override
+   public long getRemoveCount() {
+      return counts.get(Operation.REMOVE.ordinal());
+   }
+
+   @Override
+   public long[] getShowLatencyHistogram() {
+      return getHistogram(Operation.SHOW);
+   }
+
+   @Override
+   public long[] getHideLatencyHistogram() {
+      return getHistogram(Operation.HIDE);
+   }
+
+   @Override
+   public long[] getDockLatencyHistogram() {
+      return getHistogram(Operation.DOCK);
+   }
+
+   @Override
+   public long[] getFloatLatencyHistogram() {
+      return getHistogram(Operation.FLOAT);
+   }
+
+   @Override
+   public long[] getDropLatencyHistogram() {
+      return getHistogram(Operation.DROP);
+   }
+
+   @Override
+   public long[] getRemoveLatencyHistogram() {
+      return getHistogram(Operation.REMOVE);
+   }
+
+   private long[] getHistogram(final Operation operation) {
+      final long[] histogram = new long[LATENCY_BUCKETS];
+      for (int i = 0; i < LATENCY_BUCKETS; i++) {
+         histogram[i] = latencies.get(operation.ordinal() * LATENCY_BUCKETS + i);
+      }
+      return histogram;
+   }
+
+   @Override
+   public Map<String, Integer> getDockedDrawerCounts() {
+      return toMap(dockedCounts);
+   }
+
+   @Override
+   public Map<String, Integer> getFloatingDrawerCounts() {
+      return toMap(floatingCounts);
+   }
+
+   private Map<String, Integer> toMap(final AtomicIntegerArray sideCounts) {
+      final Map<String, Integer> map = new LinkedHashMap<>();
+      for (Position position : Position.values()) {
+         map.put(position.name(), sideCounts.get(position.ordinal()));
+      }
+      return Collections.unmodifiableMap(map);
+   }
+
+   @Override
+   public int getFloatingStageCount() {
+      return floatingStageCount.get();
+   }
+
+   @Override
+   public long getSplitPaneItemChangeCount() {
+      return itemChangeCount.get();
+   }
+
+   @Override
+   public long getDragOverCount() {
+      return dragOverCount.get();
+   }
+
+   @Override
+   public void reset() {
+      for (int i = 0; i < counts.length(); i++) {
+         counts.set(i, 0);
+      }
+      for (int i = 0; i < latencies.length(); i++) {
+         latencies.set(i, 0);
+      }
+      itemChangeCount.set(0);
+      dragOverCount.set(0);
+   }
+}
@@ -0,0 +1,70 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.Map;
+
+/**
+ * JMX management interface for the operation metrics of a {@link DrawerPane}.
+ * Registered with {@link DrawerPane#registerMetrics(String)}.
+ * Latency histograms are arrays of {@link #LATENCY_BUCKETS} counts, where
+ * bucket i counts the operations that took from 2^i up to 2^(i+1)
+ * microseconds (bucket 0 also counts operations under 1 microsecond, and
+ * the last bucket counts all longer operations).
+ */
+public interface DrawerPaneMetricsMXBean {
+   int LATENCY_BUCKETS = 32;
+
+   long getShowCount();
+
+   long getHideCount();
+
+   long getDockCount();
+
+   long getFloatCount();
+
+   long getDropCount();
+
+   long getRemoveCount();
+
+   long[] getShowLatencyHistogram();
+
+   long[] getHideLatencyHistogram();
+
+   long[] getDockLatencyHistogram();
+
+   long[] getFloatLatencyHistogram();
+
+   long[] getDropLatencyHistogram();
+
+   long[] getRemoveLatencyHistogram();
+
+   /**
+    * Number of docked (open, non-floating) drawers, keyed by side.
+    */
+   Map<String, Integer> getDockedDrawerCounts();
+
+   /**
+    * Number of open floating drawers, keyed by side.
+    */
+   Map<String, Integer> getFloatingDrawerCounts();
+
+   /**
+    * Number of floating window Stages that exist - showing, or hidden
+    * and kept for reuse.
+    */
+   int getFloatingStageCount();
+
+   /**
+    * Number of times the sides' SplitPane item change listeners have fired.
+    */
+   long getSplitPaneItemChangeCount();
+
+   /**
+    * Number of drag over events handled by the sides' toolbars.
+    */
+   long getDragOverCount();
+
+   /**
+    * Reset all counters and histograms to zero.
+    */
+   void reset();
+}
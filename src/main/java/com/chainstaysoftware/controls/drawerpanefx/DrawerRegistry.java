@@ -0,0 +1,146 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Holds the {@link DrawerLayoutModel} of a {@link DrawerPane} - the source of
+ * truth for the side, order and state of each {@link DrawerNode} - along with
+ * the {@link AbstractSide} at each {@link Position}. Shared between the
+ * sides of a {@link DrawerPane} so that the owning side stays correct as
+ * {@link DrawerNode}s are added, removed and dragged between sides.
+ * Also notifies listeners when the layout of the {@link DrawerPane} changes.
+ */
+class DrawerRegistry {
+   private final DrawerLayoutModel<DrawerNode> model = new DrawerLayoutModel<>();
+   private final Map<Position, AbstractSide> sides = new EnumMap<>(Position.class);
+   private final List<Runnable> changeListeners = new ArrayList<>();
+   // Sequence number of the last show of each DrawerNode. Kept while a
+   // DrawerNode is moved between sides, and dropped once it is collected.
+   private final Map<DrawerNode, Long> lastUsed = new WeakHashMap<>();
+   private long useSequence = 0;
+
+   /**
+    * The layout of the {@link DrawerPane}. Changed by the sides, as they
+    * change, so that it can be queried without walking the scene graph.
+    */
+   DrawerLayoutModel<DrawerNode> getModel() {
+      return model;
+   }
+
+   /**
+    * Record the side at a {@link Position}.
+    */
+   void addSide(final AbstractSide side) {
+      sides.put(side.getPosition(), side);
+   }
+
+   /**
+    * The {@link AbstractSide} that contains the passed in {@link DrawerNode}.
+    * Null if the {@link DrawerNode} is not contained within any side.
+    */
+   AbstractSide getSide(final DrawerNode node) {
+      final Position position = getPosition(node);
+      return position == null ? null : sides.get(position);
+   }
+
+   /**
+    * The {@link Position} of the side that contains the passed in {@link DrawerNode}.
+    * Null if the {@link DrawerNode} is not contained within any side.
+    */
+   Position getPosition(final DrawerNode node) {
+      return model.getPosition(node).orElse(null);
+   }
+
+   /**
+    * Record that the passed in {@link DrawerNode} is contained within the
+    * passed in {@link AbstractSide} at a position index (0 based). Replaces
+    * any previous owner.
+    */
+   void register(final DrawerNode node,
+                 final AbstractSide side,
+                 final int index) {
+      final Position previous = getPosition(node);
+      track(node);
+      model.move(node, side.getPosition(), index);
+      if (previous != side.getPosition()) {
+         fireChanged();
+      }
+   }
+
+   /**
+    * Record the {@link DrawerNode}s contained within the passed in
+    * {@link AbstractSide}, in toolbar order. {@link DrawerNode}s within
+    * another side are moved to the {@link AbstractSide}.
+    */
+   void registerAll(final AbstractSide side,
+                    final List<DrawerNode> nodes) {
+      nodes.forEach(this::track);
+      model.setDrawers(side.getPosition(), nodes);
+      fireChanged();
+   }
+
+   /**
+    * Forget the passed in {@link DrawerNode} - if it is still owned by the
+    * passed in {@link AbstractSide}. A NOOP if the {@link DrawerNode} has
+    * already been claimed by another side (i.e. dropped onto another side).
+    */
+   void unregister(final DrawerNode node,
+                   final AbstractSide side) {
+      if (getPosition(node) == side.getPosition()) {
+         model.remove(node);
+         fireChanged();
+      }
+   }
+
+   /**
+    * Record the state of a {@link DrawerNode} that is new to the model.
+    */
+   private void track(final DrawerNode node) {
+      if (!model.contains(node)) {
+         model.setOpen(node, node.isVisible());
+         model.setFloating(node, node.isFloating());
+         model.setDisabled(node, node.isDisable());
+      }
+   }
+
+   /**
+    * Record that the passed in {@link DrawerNode} was shown (docked or floated).
+    */
+   void markUsed(final DrawerNode node) {
+      lastUsed.put(node, ++useSequence);
+   }
+
+   /**
+    * Sequence number of the last show of the passed in {@link DrawerNode}.
+    * Higher numbers are more recent. 0 if never shown.
+    */
+   long getLastUsed(final DrawerNode node) {
+      final Long sequence = lastUsed.get(node);
+      return sequence == null ? 0 : sequence;
+   }
+
+   /**
+    * Add a listener to be called when the layout of the {@link DrawerPane}
+    * changes - e.g. a {@link DrawerNode} is added, moved, shown or floated.
+    */
+   void addChangeListener(final Runnable listener) {
+      changeListeners.add(listener);
+   }
+
+   void removeChangeListener(final Runnable listener) {
+      changeListeners.remove(listener);
+   }
+
+   /**
+    * Notify the listeners that the layout of the {@link DrawerPane} changed.
+    */
+   void fireChanged() {
+      for (int i = 0; i < changeListeners.size(); i++) {
+         changeListeners.get(i).run();
+      }
+   }
+}
@@ -0,0 +1,31 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+/**
+ * Visibility state of a {@link DrawerNode}. See {@link DrawerNode#visibilityProperty()}.
+ */
+public enum DrawerVisibility {
+   /**
+    * Closed, or not within a {@link DrawerPane}.
+    */
+   HIDDEN,
+   /**
+    * Open within a side of a {@link DrawerPane}.
+    */
+   DOCKED,
+   /**
+    * Open within its own floating window.
+    */
+   FLOATING,
+   /**
+    * Open within its own floating window, and the window is minimized.
+    */
+   MINIMIZED;
+
+   /**
+    * True if the {@link DrawerNode} can be seen - docked, or floating
+    * within a window that is not minimized.
+    */
+   public boolean isShowing() {
+      return this == DOCKED || this == FLOATING;
+   }
+}
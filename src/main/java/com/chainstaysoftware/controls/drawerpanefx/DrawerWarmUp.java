@@ -0,0 +1,171 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.InputEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Warms up the hidden {@link DrawerNode}s of a {@link DrawerPane} while the
+ * application is idle, so that later opens of the {@link DrawerNode}s only
+ * pay for attaching them. Each {@link DrawerNode}'s contents are built,
+ * then CSS is applied (creating the skins of its controls) and it is laid
+ * out within an off screen scene. The work is sliced across frames, within
+ * a per frame time budget, and is paused while there is user input.
+ * {@link DrawerNode}s are warmed most recently used first.
+ * Started with {@link DrawerPane#startWarmUp()}.
+ */
+public final class DrawerWarmUp {
+   // How long after the last user input before warming resumes.
+   private static final long INPUT_IDLE_NANOS = 500_000_000L;
+
+   private final DrawerRegistry registry;
+   private final Deque<DrawerNode> queue;
+   private final int total;
+   private final long frameBudgetNanos;
+   private final Node inputNode;
+   private final Scene inputScene;
+   private final EventHandler<InputEvent> inputFilter = event -> lastInput = System.nanoTime();
+   private final AnimationTimer timer = new AnimationTimer() {
+      @Override
+      public void handle(final long now) {
+         runSlice();
+      }
+   };
+   private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(this, "progress", 0);
+   private final ReadOnlyBooleanWrapper running = new ReadOnlyBooleanWrapper(this, "running", false);
+
+   private int completed;
+   private long lastInput;
+   // True once the contents build of the head of the queue has been run.
+   private boolean headBuilt;
+
+   /**
+    * @param registry Used to find the side of each {@link DrawerNode}.
+    * @param nodes {@link DrawerNode}s to warm, in priority order.
+    * @param frameBudgetNanos Max time to spend warming per frame.
+    * @param inputNode Node to watch for user input. Its Scene is watched
+    *                  if it is within a Scene.
+    */
+   DrawerWarmUp(final DrawerRegistry registry,
+                final List<DrawerNode> nodes,
+                final long frameBudgetNanos,
+                final Node inputNode) {
+      this.registry = registry;
+      this.queue = new ArrayDeque<>(nodes);
+      this.total = nodes.size();
+      this.frameBudgetNanos = frameBudgetNanos;
+      this.inputScene = inputNode.getScene();
+      this.inputNode = inputScene == null ? inputNode : null;
+   }
+
+   void start() {
+      if (inputScene != null) {
+         inputScene.addEventFilter(InputEvent.ANY, inputFilter);
+      } else {
+         inputNode.addEventFilter(InputEvent.ANY, inputFilter);
+      }
+
+      lastInput = System.nanoTime() - INPUT_IDLE_NANOS;
+      running.set(true);
+      timer.start();
+      if (queue.isEmpty()) {
+         finish();
+      }
+   }
+
+   /**
+    * Stop warming up. The {@link DrawerNode}s that were already warmed
+    * stay warm. A NOOP if already finished or cancelled.
+    */
+   public void cancel() {
+      finish();
+   }
+
+   /**
+    * Fraction of the {@link DrawerNode}s that have been warmed (or skipped,
+    * as they are showing or were removed), from 0 to 1.
+    */
+   public ReadOnlyDoubleProperty progressProperty() {
+      return progress.getReadOnlyProperty();
+   }
+
+   public double getProgress() {
+      return progress.get();
+   }
+
+   /**
+    * True until all of the {@link DrawerNode}s have been warmed, or the
+    * warm up is cancelled.
+    */
+   public ReadOnlyBooleanProperty runningProperty() {
+      return running.getReadOnlyProperty();
+   }
+
+   public boolean isRunning() {
+      return running.get();
+   }
+
+   /**
+    * Warm up {@link DrawerNode}s until the frame budget is used. Building
+    * the contents and warming a {@link DrawerNode} are separate steps, so
+    * that each step can run within a different frame.
+    */
+   private void runSlice() {
+      final long start = System.nanoTime();
+      if (start - lastInput < INPUT_IDLE_NANOS) {
+         return;
+      }
+
+      do {
+         final DrawerNode node = queue.peek();
+         if (node == null) {
+            finish();
+            return;
+         }
+
+         final AbstractSide side = registry.getSide(node);
+         if (side == null || node.getScene() != null || side.isWarm(node)) {
+            nextNode();
+         } else if (!headBuilt && !node.isContentsBuilt()) {
+            // Contents built on an executor are not waited for.
+            node.buildContents();
+            headBuilt = true;
+         } else {
+            side.warmNode(node);
+            nextNode();
+         }
+      } while (System.nanoTime() - start < frameBudgetNanos);
+   }
+
+   private void nextNode() {
+      queue.poll();
+      headBuilt = false;
+      completed++;
+      progress.set((double)completed / total);
+   }
+
+   private void finish() {
+      if (!running.get()) {
+         return;
+      }
+
+      timer.stop();
+      if (inputScene != null) {
+         inputScene.removeEventFilter(InputEvent.ANY, inputFilter);
+      } else {
+         inputNode.removeEventFilter(InputEvent.ANY, inputFilter);
+      }
+      queue.clear();
+      running.set(false);
+   }
+}
@@ -0,0 +1,17 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+/**
+ * How a floating {@link DrawerNode} is displayed.
+ */
+public enum FloatingMode {
+   /**
+    * Within its own native window (Stage).
+    */
+   WINDOW,
+   /**
+    * Within a decorated panel that is drawn over the {@link DrawerPane},
+    * within the {@link DrawerPane}'s own scene. Avoids the cost of creating
+    * a native window.
+    */
+   INTERNAL
+}
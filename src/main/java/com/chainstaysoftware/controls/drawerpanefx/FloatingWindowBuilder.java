@@ -7,16 +7,150 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.stage.Window;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Builder to create floating window to contain a {@link DrawerNode}.
+ * The floating windows are kept per {@link DrawerNode} and are hidden, rather
+ * than destroyed, when closed. Re-floating a {@link DrawerNode} re-shows the
+ * existing window with its scene, style sheets and geometry already in place.
+ * Hidden windows beyond the max cache size are disposed, least recently used first.
  */
 class FloatingWindowBuilder {
+   static final int DEFAULT_MAX_CACHED_WINDOWS = 10;
+
+   // Access ordered, so the least recently floated windows are first.
+   private final Map<DrawerNode, FloatingWindow> windows = new LinkedHashMap<>(16, 0.75f, true);
+
+   // Called when a floating window is moved.
+   private final Runnable onMoved;
+
+   private int maxCachedWindows = DEFAULT_MAX_CACHED_WINDOWS;
+
+   FloatingWindowBuilder(final Runnable onMoved) {
+      this.onMoved = onMoved;
+   }
+
    /**
-    * Creates a {@link Stage} to contain the passed in {@link DrawerNode}.
+    * Gets the {@link Stage} to contain the passed in {@link DrawerNode}. Reuses
+    * the {@link DrawerNode}'s previous {@link Stage} if still cached. Otherwise,
+    * creates a new {@link Stage}.
     */
    Stage create(final Window parent,
                 final DrawerNode node) {
-      final Pane pane = new Pane(node);
+      FloatingWindow window = windows.get(node);
+      if (window != null && window.stage.getOwner() != parent) {
+         // A Stage's owner cannot be changed.
+         dispose(node);
+         window = null;
+      }
+
+      if (window == null) {
+         window = createWindow(parent, node);
+         windows.put(node, window);
+      }
+
+      if (node.getParent() != window.pane) {
+         window.pane.getChildren().setAll(node);
+      }
+
+      return window.stage;
+   }
+
+   /**
+    * Called when the floating window for the passed in {@link DrawerNode} is
+    * closing. Detaches the {@link DrawerNode} from the window so that the
+    * {@link DrawerNode} can be docked. The window is kept for reuse - unless
+    * it is beyond the max cache size.
+    */
+   void release(final DrawerNode node) {
+      final FloatingWindow window = windows.get(node);
+      if (window != null) {
+         window.pane.getChildren().remove(node);
+      }
+
+      // Called from the window's close request handler, while the window
+      // is still showing, so count the window as hidden.
+      evict(node);
+   }
+
+   /**
+    * Discard the floating window of the passed in {@link DrawerNode} - if any.
+    */
+   void dispose(final DrawerNode node) {
+      final FloatingWindow window = windows.remove(node);
+      if (window != null) {
+         disposeWindow(window);
+      }
+   }
+
+   /**
+    * Discard all cached floating windows that are not currently showing.
+    */
+   void disposeHidden() {
+      final Iterator<FloatingWindow> iterator = windows.values().iterator();
+      while (iterator.hasNext()) {
+         final FloatingWindow window = iterator.next();
+         if (!window.stage.isShowing()) {
+            iterator.remove();
+            disposeWindow(window);
+         }
+      }
+   }
+
+   /**
+    * Number of floating windows - showing, or hidden and kept for reuse.
+    */
+   int getWindowCount() {
+      return windows.size();
+   }
+
+   /**
+    * Max number of hidden floating windows to keep for reuse.
+    */
+   void setMaxCachedWindows(final int maxCachedWindows) {
+      if (maxCachedWindows < 0) {
+         throw new IllegalArgumentException("maxCachedWindows must not be negative");
+      }
+
+      this.maxCachedWindows = maxCachedWindows;
+      evict(null);
+   }
+
+   /**
+    * Dispose of the least recently used hidden windows until there are
+    * no more than maxCachedWindows hidden windows.
+    * @param closing {@link DrawerNode} whose window is closing, and so is
+    *                counted as hidden. Null if none.
+    */
+   private void evict(final DrawerNode closing) {
+      final List<DrawerNode> hidden = new ArrayList<>();
+      for (Map.Entry<DrawerNode, FloatingWindow> entry : windows.entrySet()) {
+         if (entry.getKey() == closing || !entry.getValue().stage.isShowing()) {
+            hidden.add(entry.getKey());
+         }
+      }
+
+      for (int i = 0; i < hidden.size() - maxCachedWindows; i++) {
+         dispose(hidden.get(i));
+      }
+   }
+
+   private void disposeWindow(final FloatingWindow window) {
+      window.pane.getChildren().clear();
+      window.stage.setOnCloseRequest(null);
+      if (window.stage.isShowing()) {
+         window.stage.hide();
+      }
+   }
+
+   private FloatingWindow createWindow(final Window parent,
+                                       final DrawerNode node) {
+      final Pane pane = new Pane();
       final Scene scene = new Scene(pane);
 
       node.getFloatStyleSheet().ifPresent(ss ->
@@ -24,7 +158,20 @@ class FloatingWindowBuilder {
 
       final Stage stage = createStage(parent, node);
       stage.setScene(scene);
-      return stage;
+      stage.xProperty().addListener((observable, oldValue, newValue) -> {
+         node.setFloatingX(newValue.doubleValue());
+         onMoved.run();
+      });
+      stage.yProperty().addListener((observable, oldValue, newValue) -> {
+         node.setFloatingY(newValue.doubleValue());
+         onMoved.run();
+      });
+      stage.iconifiedProperty().addListener((observable, oldValue, iconified) -> {
+         if (node.getParent() == pane && stage.isShowing()) {
+            node.setVisibility(iconified ? DrawerVisibility.MINIMIZED : DrawerVisibility.FLOATING);
+         }
+      });
+      return new FloatingWindow(stage, pane);
    }
 
    private Stage createStage(final Window parent,
@@ -41,4 +188,18 @@ class FloatingWindowBuilder {
 
       return stg;
    }
+
+   /**
+    * A floating {@link Stage} and the {@link Pane} that wraps the {@link DrawerNode}.
+    */
+   private static class FloatingWindow {
+      private final Stage stage;
+      private final Pane pane;
+
+      FloatingWindow(final Stage stage,
+                     final Pane pane) {
+         this.stage = stage;
+         this.pane = pane;
+      }
+   }
 }
@@ -13,8 +13,12 @@ class HorizontalSide extends AbstractSide {
    private final VBox vBox;
 
    HorizontalSide(final Position position,
-                  final DragState dragState) {
-      super(position, dragState);
+                  final DragState dragState,
+                  final DrawerRegistry registry,
+                  final FloatingWindowBuilder floatingWindows,
+                  final InternalWindowBuilder internalWindows,
+                  final DrawerPaneMetrics metrics) {
+      super(position, dragState, registry, floatingWindows, internalWindows, metrics);
 
       if (!Position.Top.equals(position) && !Position.Bottom.equals(position)) {
          throw new IllegalArgumentException("Invalid position for HorizontalSide - " + position);
@@ -0,0 +1,188 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
+import javafx.scene.Cursor;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Builder to create internal floating windows - decorated panels that
+ * contain a floating {@link DrawerNode} and are drawn over the
+ * {@link DrawerPane}, within the {@link DrawerPane}'s own scene. The
+ * internal windows can be moved by dragging their title bar, and resized
+ * by dragging their bottom right corner. The {@link DrawerNode}'s floating
+ * X/Y are the location of its internal window within the {@link DrawerPane}.
+ */
+class InternalWindowBuilder {
+   private static final double CASCADE_OFFSET = 24;
+   private static final double MIN_SIZE = 80;
+
+   private final Pane host;
+   // Called when an internal window is moved or resized.
+   private final Runnable onMoved;
+   private final Map<DrawerNode, InternalWindow> windows = new IdentityHashMap<>();
+
+   /**
+    * @param host Pane to add the internal windows to.
+    */
+   InternalWindowBuilder(final Pane host,
+                         final Runnable onMoved) {
+      this.host = host;
+      this.onMoved = onMoved;
+   }
+
+   /**
+    * Show the passed in {@link DrawerNode} within an internal window.
+    * @param onClosed Called when the internal window is closed - by its close
+    *                 button, or by {@link #close(DrawerNode)}.
+    */
+   void show(final DrawerNode node,
+             final Runnable onClosed) {
+      if (windows.containsKey(node)) {
+         windows.get(node).toFront();
+         return;
+      }
+
+      final InternalWindow window = new InternalWindow(node, onClosed);
+      windows.put(node, window);
+      host.getChildren().add(window);
+
+      // The floating X/Y may have been set by a native floating window
+      // (screen coordinates), so keep the window within the host.
+      final double cascade = CASCADE_OFFSET * windows.size();
+      window.relocate(
+         window.clamp(node.getFloatingX().orElse(cascade), 0, host.getWidth() - MIN_SIZE),
+         window.clamp(node.getFloatingY().orElse(cascade), 0, host.getHeight() - MIN_SIZE));
+   }
+
+   /**
+    * True if the passed in {@link DrawerNode} is showing within an internal window.
+    */
+   boolean isShowing(final DrawerNode node) {
+      return windows.containsKey(node);
+   }
+
+   /**
+    * Close the internal window of the passed in {@link DrawerNode} - if any.
+    * Detaches the {@link DrawerNode} from the window, then calls the
+    * window's onClosed callback.
+    */
+   void close(final DrawerNode node) {
+      final InternalWindow window = windows.remove(node);
+      if (window == null) {
+         return;
+      }
+
+      host.getChildren().remove(window);
+      window.contentPane.getChildren().clear();
+      window.onClosed.run();
+   }
+
+   /**
+    * Decorated panel containing a floating {@link DrawerNode}.
+    */
+   private class InternalWindow extends BorderPane {
+      private final DrawerNode node;
+      private final Runnable onClosed;
+      private final StackPane contentPane = new StackPane();
+      // Offset of the mouse from the window's origin (move), or from the
+      // window's bottom right corner (resize), when the drag started.
+      private double dragOffsetX;
+      private double dragOffsetY;
+
+      InternalWindow(final DrawerNode node,
+                     final Runnable onClosed) {
+         this.node = node;
+         this.onClosed = onClosed;
+
+         getStyleClass().add("drawerpanefx-internal-window");
+         node.getFloatStyleSheet().ifPresent(ss -> getStylesheets().add(ss.toExternalForm()));
+
+         contentPane.getChildren().add(node);
+         setTop(createTitleBar());
+         setCenter(contentPane);
+         setBottom(createResizeGrip());
+
+         addEventFilter(MouseEvent.MOUSE_PRESSED, event -> toFront());
+      }
+
+      private HBox createTitleBar() {
+         final Label title = new Label(node.getTitle(),
+            node.getIcon() == null ? null : new ImageView(node.getIcon()));
+         title.setMaxWidth(Double.MAX_VALUE);
+         HBox.setHgrow(title, Priority.ALWAYS);
+
+         final Button close = new Button("\u00D7");
+         close.getStyleClass().add("drawerpanefx-internal-window-close");
+         close.setFocusTraversable(false);
+         close.setOnAction(event -> close(node));
+
+         final HBox titleBar = new HBox(title, close);
+         titleBar.getStyleClass().add("drawerpanefx-internal-window-title");
+         titleBar.setAlignment(Pos.CENTER_LEFT);
+         titleBar.setOnMousePressed(event -> {
+            final Point2D mouse = toHost(event);
+            dragOffsetX = mouse.getX() - getLayoutX();
+            dragOffsetY = mouse.getY() - getLayoutY();
+            event.consume();
+         });
+         titleBar.setOnMouseDragged(event -> {
+            // Keep the title bar within the host, so the window can be dragged back.
+            final Point2D mouse = toHost(event);
+            final double x = clamp(mouse.getX() - dragOffsetX, 0, host.getWidth() - MIN_SIZE);
+            final double y = clamp(mouse.getY() - dragOffsetY, 0, host.getHeight() - titleBar.getHeight());
+            relocate(x, y);
+            node.setFloatingX(x);
+            node.setFloatingY(y);
+            onMoved.run();
+            event.consume();
+         });
+         return titleBar;
+      }
+
+      private HBox createResizeGrip() {
+         final Region grip = new Region();
+         grip.getStyleClass().add("drawerpanefx-internal-window-resize");
+         grip.setCursor(Cursor.SE_RESIZE);
+         grip.setOnMousePressed(event -> {
+            final Point2D mouse = toHost(event);
+            dragOffsetX = getLayoutX() + getWidth() - mouse.getX();
+            dragOffsetY = getLayoutY() + getHeight() - mouse.getY();
+            event.consume();
+         });
+         grip.setOnMouseDragged(event -> {
+            final Point2D mouse = toHost(event);
+            setPrefSize(Math.max(MIN_SIZE, mouse.getX() + dragOffsetX - getLayoutX()),
+               Math.max(MIN_SIZE, mouse.getY() + dragOffsetY - getLayoutY()));
+            event.consume();
+         });
+         grip.setOnMouseReleased(event -> onMoved.run());
+
+         final HBox bottom = new HBox(grip);
+         bottom.setAlignment(Pos.BOTTOM_RIGHT);
+         return bottom;
+      }
+
+      private Point2D toHost(final MouseEvent event) {
+         return host.sceneToLocal(event.getSceneX(), event.getSceneY());
+      }
+
+      private double clamp(final double value,
+                           final double min,
+                           final double max) {
+         return Math.max(min, Math.min(value, max));
+      }
+   }
+}
@@ -0,0 +1,123 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates a list in place so that it matches a desired list, using a
+ * minimal set of remove/insert operations. Items are compared by identity.
+ * Used to update scene graph lists (e.g. {@link javafx.scene.control.SplitPane}
+ * items) without clearing and re-adding items that did not move, so that
+ * unchanged nodes are not reparented.
+ */
+final class ListReconciler {
+   private ListReconciler() {}
+
+   /**
+    * Update target so that it contains the items within desired, in the
+    * same order. Items that are within target and desired, and that are
+    * already in the correct relative order, are left in place. Items that
+    * moved are removed and inserted at their new location.
+    */
+   static <T> void reconcile(final List<T> target,
+                             final List<? extends T> desired) {
+      if (isSame(target, desired)) {
+         return;
+      }
+
+      final Map<T, Integer> desiredIndex = new IdentityHashMap<>(desired.size());
+      for (int i = 0; i < desired.size(); i++) {
+         desiredIndex.put(desired.get(i), i);
+      }
+
+      // Remove items that are no longer wanted.
+      for (int i = target.size() - 1; i >= 0; i--) {
+         if (!desiredIndex.containsKey(target.get(i))) {
+            target.remove(i);
+         }
+      }
+
+      // Items that are part of the longest run already in the desired
+      // order stay in place. All other items are moved.
+      final boolean[] stays = longestIncreasingRun(target, desiredIndex);
+      for (int i = target.size() - 1; i >= 0; i--) {
+         if (!stays[i]) {
+            target.remove(i);
+         }
+      }
+
+      // Target is now an ordered subset of desired, insert the missing items.
+      for (int i = 0; i < desired.size(); i++) {
+         final T item = desired.get(i);
+         if (i >= target.size() || target.get(i) != item) {
+            target.add(i, item);
+         }
+      }
+   }
+
+   /**
+    * True if both lists contain the same items in the same order.
+    */
+   private static <T> boolean isSame(final List<T> target,
+                                     final List<? extends T> desired) {
+      if (target.size() != desired.size()) {
+         return false;
+      }
+
+      for (int i = 0; i < target.size(); i++) {
+         if (target.get(i) != desired.get(i)) {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
+   /**
+    * Mark the items of target that form the longest increasing run of
+    * desired indexes (patience sorting).
+    */
+   private static <T> boolean[] longestIncreasingRun(final List<T> target,
+                                                     final Map<T, Integer> desiredIndex) {
+      final int size = target.size();
+      final int[] indexes = new int[size];
+      for (int i = 0; i < size; i++) {
+         indexes[i] = desiredIndex.get(target.get(i));
+      }
+
+      // tails.get(k) is the position in target of the smallest tail of
+      // an increasing run with length k + 1.
+      final List<Integer> tails = new ArrayList<>();
+      final int[] previous = new int[size];
+      for (int i = 0; i < size; i++) {
+         int low = 0;
+         int high = tails.size();
+         while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (indexes[tails.get(mid)] < indexes[i]) {
+               low = mid + 1;
+            } else {
+               high = mid;
+            }
+         }
+
+         previous[i] = low > 0 ? tails.get(low - 1) : -1;
+         if (low == tails.size()) {
+            tails.add(i);
+         } else {
+            tails.set(low, i);
+         }
+      }
+
+      final boolean[] stays = new boolean[size];
+      int i = tails.isEmpty() ? -1 : tails.get(tails.size() - 1);
+      while (i >= 0) {
+         stays[i] = true;
+         i = previous[i];
+      }
+
+      return stays;
+   }
+}
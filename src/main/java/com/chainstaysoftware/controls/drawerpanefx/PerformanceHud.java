@@ -0,0 +1,180 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Overlay that shows the frame rate and frame times of a {@link DrawerPane},
+ * along with the CSS time, layout time and node count of each open
+ * {@link DrawerNode}. Only exists while enabled with
+ * {@link DrawerPane#setPerformanceHudVisible(boolean)}.
+ *
+ * CSS time is measured by applying CSS to each open {@link DrawerNode}
+ * at the start of each frame - which is the CSS work that the frame's pulse
+ * would otherwise perform. Layout time is measured by the {@link DrawerNode}
+ * around the layout of its subtree. Times are averaged per frame, and the
+ * overlay is refreshed twice a second.
+ */
+class PerformanceHud extends AnimationTimer {
+   private static final long REFRESH_NANOS = 500_000_000L;
+   private static final double MARGIN = 8;
+
+   private final Pane owner;
+   private final Supplier<List<DrawerNode>> openNodes;
+   private final Label label = new Label();
+   private final Map<DrawerNode, DrawerStats> drawerStats = new IdentityHashMap<>();
+
+   private long lastFrame;
+   private long refreshStart;
+   private int frames;
+   private long frameNanos;
+   private long maxFrameNanos;
+
+   /**
+    * @param owner Pane to overlay.
+    * @param openNodes Supplies the currently open {@link DrawerNode}s.
+    */
+   PerformanceHud(final Pane owner,
+                  final Supplier<List<DrawerNode>> openNodes) {
+      this.owner = owner;
+      this.openNodes = openNodes;
+
+      label.getStyleClass().add("drawerpanefx-performance-hud");
+      label.setManaged(false);
+      label.setMouseTransparent(true);
+   }
+
+   /**
+    * Add the overlay to the owner and start measuring.
+    */
+   void attach() {
+      owner.getChildren().add(label);
+      lastFrame = 0;
+      start();
+   }
+
+   /**
+    * Stop measuring, and remove the overlay and all layout probes.
+    */
+   void detach() {
+      stop();
+      owner.getChildren().remove(label);
+      drawerStats.keySet().forEach(node -> node.setLayoutTimeListener(null));
+      drawerStats.clear();
+   }
+
+   @Override
+   public void handle(final long now) {
+      if (lastFrame == 0) {
+         refreshStart = now;
+      } else {
+         final long frame = now - lastFrame;
+         frameNanos += frame;
+         maxFrameNanos = Math.max(maxFrameNanos, frame);
+         frames++;
+      }
+      lastFrame = now;
+
+      measureCss();
+
+      if (now - refreshStart >= REFRESH_NANOS && frames > 0) {
+         refresh();
+         refreshStart = now;
+         frames = 0;
+         frameNanos = 0;
+         maxFrameNanos = 0;
+      }
+   }
+
+   /**
+    * Apply CSS to each open {@link DrawerNode}, and track which
+    * {@link DrawerNode}s have layout probes.
+    */
+   private void measureCss() {
+      final List<DrawerNode> open = openNodes.get();
+
+      final Iterator<Map.Entry<DrawerNode, DrawerStats>> iter = drawerStats.entrySet().iterator();
+      while (iter.hasNext()) {
+         final Map.Entry<DrawerNode, DrawerStats> entry = iter.next();
+         if (!open.contains(entry.getKey())) {
+            entry.getKey().setLayoutTimeListener(null);
+            iter.remove();
+         }
+      }
+
+      for (int i = 0; i < open.size(); i++) {
+         final DrawerNode node = open.get(i);
+         DrawerStats stats = drawerStats.get(node);
+         if (stats == null) {
+            stats = new DrawerStats();
+            node.setLayoutTimeListener(stats::addLayoutNanos);
+            drawerStats.put(node, stats);
+         }
+
+         final long start = System.nanoTime();
+         node.applyCss();
+         stats.cssNanos += System.nanoTime() - start;
+      }
+   }
+
+   private void refresh() {
+      final StringBuilder sb = new StringBuilder();
+      sb.append(String.format("FPS %.1f  frame %.1fms  max %.1fms",
+         frames * 1e9 / frameNanos, toMillis(frameNanos) / frames, toMillis(maxFrameNanos)));
+
+      final List<DrawerNode> nodes = new ArrayList<>(drawerStats.keySet());
+      nodes.sort((o1, o2) -> o1.getTitle().compareTo(o2.getTitle()));
+      for (DrawerNode node : nodes) {
+         final DrawerStats stats = drawerStats.get(node);
+         sb.append(String.format("%n%s%s  css %.2fms  layout %.2fms  nodes %d",
+            node.getTitle(),
+            node.isFloating() ? " (floating)" : "",
+            toMillis(stats.cssNanos) / frames,
+            toMillis(stats.layoutNanos) / frames,
+            countNodes(node)));
+         stats.cssNanos = 0;
+         stats.layoutNanos = 0;
+      }
+
+      label.setText(sb.toString());
+      label.toFront();
+      label.autosize();
+      label.relocate(owner.getWidth() - label.getWidth() - MARGIN, MARGIN);
+   }
+
+   private static double toMillis(final long nanos) {
+      return nanos / 1e6;
+   }
+
+   private static int countNodes(final Node node) {
+      int count = 1;
+      if (node instanceof Parent) {
+         for (Node child : ((Parent)node).getChildrenUnmodifiable()) {
+            count += countNodes(child);
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Times accumulated for a {@link DrawerNode} since the last refresh.
+    */
+   private static class DrawerStats {
+      private long cssNanos;
+      private long layoutNanos;
+
+      private void addLayoutNanos(final long nanos) {
+         layoutNanos += nanos;
+      }
+   }
+}
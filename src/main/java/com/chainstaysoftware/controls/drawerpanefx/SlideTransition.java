@@ -0,0 +1,121 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.geometry.Bounds;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
+
+/**
+ * {@link Transition} to slide a node in from, or out to, the edge of a side.
+ * Only the node's translation and clip are animated, and the node is bitmap
+ * cached while sliding, so the node (and the rest of the scene) is not
+ * re-laid out on each frame. The clip keeps the node within its layout
+ * bounds, so it does not slide over its neighbours.
+ */
+class SlideTransition extends Transition {
+   private final Node node;
+   private final boolean opening;
+   private final boolean horizontal;
+   // Direction (-1 or 1) of the side's outer edge.
+   private final double edge;
+   private final Rectangle clip = new Rectangle();
+
+   private boolean prepared = false;
+   private boolean wasCached;
+   private CacheHint oldCacheHint;
+
+   /**
+    * @param node Node to slide.
+    * @param position Side that the node slides in from/out to.
+    * @param opening True to slide in, false to slide out.
+    * @param duration Duration of the slide.
+    */
+   SlideTransition(final Node node,
+                   final Position position,
+                   final boolean opening,
+                   final Duration duration) {
+      this.node = node;
+      this.opening = opening;
+      // Top/Bottom sides slide vertically.
+      this.horizontal = Position.Left.equals(position) || Position.Right.equals(position);
+      this.edge = Position.Left.equals(position) || Position.Top.equals(position) ? -1 : 1;
+
+      setCycleDuration(duration);
+      setInterpolator(Interpolator.EASE_BOTH);
+   }
+
+   /**
+    * Hold the node closed - clipped away entirely - until {@link #play()}.
+    * Used to keep the node closed until it has been laid out at its full size.
+    */
+   void hold() {
+      prepare();
+      clip.setWidth(0);
+      clip.setHeight(0);
+   }
+
+   @Override
+   public void play() {
+      prepare();
+      // Start from the closed position, so the first frame is not fully open.
+      interpolate(0);
+      super.play();
+   }
+
+   @Override
+   protected void interpolate(final double frac) {
+      // Slide the width/height of the node, as currently laid out.
+      final Bounds bounds = node.getLayoutBounds();
+      final double length = horizontal ? bounds.getWidth() : bounds.getHeight();
+      final double offset = edge * length * (opening ? 1 - frac : frac);
+
+      if (horizontal) {
+         node.setTranslateX(offset);
+         clip.setX(bounds.getMinX() - offset);
+         clip.setY(bounds.getMinY());
+      } else {
+         node.setTranslateY(offset);
+         clip.setX(bounds.getMinX());
+         clip.setY(bounds.getMinY() - offset);
+      }
+      clip.setWidth(bounds.getWidth());
+      clip.setHeight(bounds.getHeight());
+   }
+
+   /**
+    * Cache and clip the node for the slide.
+    */
+   private void prepare() {
+      if (prepared) {
+         return;
+      }
+
+      prepared = true;
+      wasCached = node.isCache();
+      oldCacheHint = node.getCacheHint();
+      node.setCache(true);
+      node.setCacheHint(CacheHint.SPEED);
+      node.setClip(clip);
+   }
+
+   /**
+    * Stop the slide, and restore the node's translation, clip and caching.
+    */
+   void reset() {
+      stop();
+
+      if (!prepared) {
+         return;
+      }
+
+      prepared = false;
+      node.setTranslateX(0);
+      node.setTranslateY(0);
+      node.setClip(null);
+      node.setCache(wasCached);
+      node.setCacheHint(oldCacheHint);
+   }
+}
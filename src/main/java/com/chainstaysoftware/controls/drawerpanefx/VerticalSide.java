@@ -13,8 +13,12 @@ class VerticalSide extends AbstractSide {
    private final HBox hBox;
 
    VerticalSide(final Position position,
-                final DragState dragState) {
-      super(position, dragState);
+                final DragState dragState,
+                final DrawerRegistry registry,
+                final FloatingWindowBuilder floatingWindows,
+                final InternalWindowBuilder internalWindows,
+                final DrawerPaneMetrics metrics) {
+      super(position, dragState, registry, floatingWindows, internalWindows, metrics);
 
       if (!Position.Left.equals(position) && !Position.Right.equals(position)) {
          throw new IllegalArgumentException("Invalid position for VerticalSide - " + position);
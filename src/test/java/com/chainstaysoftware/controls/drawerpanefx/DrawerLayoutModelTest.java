@@ -0,0 +1,244 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link DrawerLayoutModel}. The model is plain Java, so the
+ * tests use Strings as drawers and do not need the JavaFx toolkit.
+ */
+public class DrawerLayoutModelTest {
+   private final DrawerLayoutModel<String> model = new DrawerLayoutModel<>();
+
+   @Test
+   public void addAppendsToSide() {
+      model.add("a", Position.Left);
+      model.add("b", Position.Left);
+
+      assertEquals(Arrays.asList("a", "b"), model.getDrawers(Position.Left));
+      assertEquals(Optional.of(Position.Left), model.getPosition("a"));
+      assertTrue(model.getDrawers(Position.Top).isEmpty());
+   }
+
+   @Test
+   public void moveClampsIndex() {
+      model.add("a", Position.Left);
+      model.add("b", Position.Left);
+
+      model.move("c", Position.Left, -5);
+      model.move("a", Position.Left, 100);
+
+      assertEquals(Arrays.asList("c", "b", "a"), model.getDrawers(Position.Left));
+   }
+
+   @Test
+   public void moveBetweenSidesKeepsState() {
+      model.add("a", Position.Top);
+      model.setOpen("a", true);
+      model.setFloating("a", true);
+
+      model.move("a", Position.Right, 0);
+
+      assertTrue(model.getDrawers(Position.Top).isEmpty());
+      assertEquals(Collections.singletonList("a"), model.getDrawers(Position.Right));
+      assertTrue(model.isOpen("a"));
+      assertTrue(model.isFloating("a"));
+   }
+
+   @Test
+   public void removeClearsState() {
+      model.add("a", Position.Top);
+      model.setOpen("a", true);
+      model.setDisabled("a", true);
+
+      assertTrue(model.remove("a"));
+
+      assertFalse(model.contains("a"));
+      assertFalse(model.isOpen("a"));
+      assertFalse(model.isDisabled("a"));
+      assertFalse(model.remove("a"));
+   }
+
+   @Test
+   public void setDrawersRemovesMissingAndMovesFromOtherSides() {
+      model.add("a", Position.Left);
+      model.add("b", Position.Left);
+      model.add("c", Position.Top);
+      model.setOpen("a", true);
+      model.setOpen("c", true);
+
+      model.setDrawers(Position.Left, Arrays.asList("c", "b"));
+
+      assertEquals(Arrays.asList("c", "b"), model.getDrawers(Position.Left));
+      assertTrue(model.getDrawers(Position.Top).isEmpty());
+      assertFalse(model.contains("a"));
+      assertFalse(model.isOpen("a"));
+      assertTrue(model.isOpen("c"));
+   }
+
+   @Test
+   public void copyIsIndependent() {
+      model.add("a", Position.Left);
+      model.setSize(Position.Left, 200);
+
+      final DrawerLayoutModel<String> copy = new DrawerLayoutModel<>(model);
+      copy.add("b", Position.Left);
+      copy.setOpen("a", true);
+      copy.setSize(Position.Left, 300);
+
+      assertEquals(Collections.singletonList("a"), model.getDrawers(Position.Left));
+      assertFalse(model.isOpen("a"));
+      assertEquals(OptionalDouble.of(200), model.getSize(Position.Left));
+   }
+
+   @Test
+   public void setSizeClearsNegativeSize() {
+      model.setSize(Position.Bottom, 150);
+      model.setSize(Position.Bottom, -1);
+
+      assertFalse(model.getSize(Position.Bottom).isPresent());
+   }
+
+   @Test(expected = UnsupportedOperationException.class)
+   public void getDrawersIsReadOnly() {
+      model.getDrawers(Position.Left).add("a");
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void moveRejectsNullPosition() {
+      model.move("a", null, 0);
+   }
+
+   @Test
+   public void diffReportsChangesInOrder() {
+      model.add("a", Position.Top);
+      model.add("b", Position.Left);
+      model.add("c", Position.Left);
+
+      final DrawerLayoutModel<String> target = new DrawerLayoutModel<>(model);
+      target.setSize(Position.Left, 250);
+      target.setOpen("b", true);
+      target.setDisabled("b", true);
+      target.setFloating("b", true);
+      target.remove("c");
+      target.add("d", Position.Top);
+
+      assertEquals(Arrays.asList(
+         "removed c",
+         "side Top [a, d]",
+         "side Left [b]",
+         "floating b true",
+         "disabled b true",
+         "open b true",
+         "size Left 250.0"),
+         diff(model, target));
+   }
+
+   @Test
+   public void diffReportsMoveAsSideChanges() {
+      model.add("a", Position.Top);
+      model.add("b", Position.Left);
+      model.setOpen("a", true);
+      model.setFloating("a", true);
+
+      final DrawerLayoutModel<String> target = new DrawerLayoutModel<>(model);
+      target.move("a", Position.Left, 0);
+
+      assertEquals(Arrays.asList(
+         "side Top []",
+         "side Left [a, b]"),
+         diff(model, target));
+   }
+
+   @Test
+   public void diffReportsReorderWithinSide() {
+      model.add("a", Position.Right);
+      model.add("b", Position.Right);
+
+      final DrawerLayoutModel<String> target = new DrawerLayoutModel<>(model);
+      target.move("b", Position.Right, 0);
+
+      assertEquals(Collections.singletonList("side Right [b, a]"), diff(model, target));
+   }
+
+   @Test
+   public void diffReportsOnlyNetStateChanges() {
+      model.add("a", Position.Bottom);
+      model.add("b", Position.Bottom);
+      model.setOpen("b", true);
+      model.setSize(Position.Bottom, 100);
+
+      final DrawerLayoutModel<String> target = new DrawerLayoutModel<>(model);
+      target.setOpen("a", true);
+      target.setOpen("a", false);
+      target.setOpen("b", false);
+      target.setFloating("a", true);
+      target.setFloating("a", false);
+      target.setSize(Position.Bottom, 100);
+
+      assertEquals(Collections.singletonList("open b false"), diff(model, target));
+   }
+
+   @Test
+   public void diffOfEqualModelsIsEmpty() {
+      model.add("a", Position.Top);
+      model.setOpen("a", true);
+
+      assertTrue(diff(model, new DrawerLayoutModel<>(model)).isEmpty());
+   }
+
+   /**
+    * The changes reported by a diff, as strings.
+    */
+   private static List<String> diff(final DrawerLayoutModel<String> from,
+                                    final DrawerLayoutModel<String> to) {
+      final List<String> changes = new ArrayList<>();
+      DrawerLayoutModel.diff(from, to, new DrawerLayoutModel.Listener<String>() {
+         @Override
+         public void removed(final String drawer) {
+            changes.add("removed " + drawer);
+         }
+
+         @Override
+         public void sideChanged(final Position position,
+                                 final List<String> drawers) {
+            changes.add("side " + position + " " + drawers);
+         }
+
+         @Override
+         public void floatingChanged(final String drawer,
+                                     final boolean floating) {
+            changes.add("floating " + drawer + " " + floating);
+         }
+
+         @Override
+         public void disabledChanged(final String drawer,
+                                     final boolean disabled) {
+            changes.add("disabled " + drawer + " " + disabled);
+         }
+
+         @Override
+         public void openChanged(final String drawer,
+                                 final boolean open) {
+            changes.add("open " + drawer + " " + open);
+         }
+
+         @Override
+         public void sizeChanged(final Position position,
+                                 final double size) {
+            changes.add("size " + position + " " + size);
+         }
+      });
+      return changes;
+   }
+}
@@ -0,0 +1,142 @@
+package com.chainstaysoftware.controls.drawerpanefx;
+
+import com.sun.javafx.application.PlatformImpl;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link DrawerPane#batch(java.util.function.Consumer)}. The tests
+ * run on the JavaFx application thread of the headless (Monocle) toolkit.
+ */
+public class DrawerPaneBatchTest {
+   @BeforeClass
+   public static void startToolkit() throws InterruptedException {
+      System.setProperty("glass.platform", "Monocle");
+      System.setProperty("monocle.platform", "Headless");
+      System.setProperty("prism.order", "sw");
+
+      final CountDownLatch latch = new CountDownLatch(1);
+      try {
+         PlatformImpl.startup(latch::countDown);
+      } catch (IllegalStateException ex) {
+         // Already started by another test.
+         latch.countDown();
+      }
+      latch.await();
+      Platform.setImplicitExit(false);
+   }
+
+   @Test
+   public void moveFloatingDrawerToLaterSide() throws Throwable {
+      runOnFxThread(() -> {
+         final DrawerPane drawerPane = new DrawerPane();
+         drawerPane.setFloatingMode(FloatingMode.INTERNAL);
+         final DrawerNode node = new DrawerNode(new Label("Contents"), "Drawer");
+         drawerPane.addTop(node);
+         drawerPane.batch(editor -> editor.setFloating(node, true).show(node));
+         assertEquals(DrawerVisibility.FLOATING, node.getVisibility());
+
+         drawerPane.batch(editor -> editor.move(node, Position.Left, 0));
+
+         assertEquals(Optional.of(Position.Left), drawerPane.getPosition(node));
+         assertTrue(drawerPane.getTopNodes().isEmpty());
+         assertTrue(node.isFloating());
+         assertTrue(node.isVisible());
+         assertEquals(DrawerVisibility.FLOATING, node.getVisibility());
+
+         final DrawerLayoutModel<DrawerNode> layout = drawerPane.getLayoutModel();
+         assertTrue(layout.isOpen(node));
+         assertTrue(layout.isFloating(node));
+      });
+   }
+
+   @Test
+   public void moveDockedDrawerToEarlierSide() throws Throwable {
+      runOnFxThread(() -> {
+         final DrawerPane drawerPane = new DrawerPane();
+         final DrawerNode node = new DrawerNode(new Label("Contents"), "Drawer");
+         drawerPane.addLeft(node);
+         drawerPane.show(node);
+         assertEquals(DrawerVisibility.DOCKED, node.getVisibility());
+
+         drawerPane.batch(editor -> editor.move(node, Position.Top, 0));
+
+         assertEquals(Optional.of(Position.Top), drawerPane.getPosition(node));
+         assertTrue(drawerPane.getLeftNodes().isEmpty());
+         assertTrue(node.isVisible());
+         assertFalse(node.isFloating());
+         assertEquals(DrawerVisibility.DOCKED, node.getVisibility());
+         assertTrue(drawerPane.getLayoutModel().isOpen(node));
+      });
+   }
+
+   @Test
+   public void reorderDockedDrawersWithinSide() throws Throwable {
+      runOnFxThread(() -> {
+         final DrawerPane drawerPane = new DrawerPane();
+         final DrawerNode first = new DrawerNode(new Label("First"), "First");
+         final DrawerNode second = new DrawerNode(new Label("Second"), "Second");
+         drawerPane.addRight(first, second);
+         drawerPane.show(first);
+         drawerPane.show(second);
+
+         drawerPane.batch(editor -> editor.move(second, Position.Right, 0));
+
+         assertEquals(Arrays.asList(second, first), drawerPane.getRightNodes());
+         for (DrawerNode node : Arrays.asList(first, second)) {
+            assertTrue(node.isVisible());
+            assertEquals(DrawerVisibility.DOCKED, node.getVisibility());
+            assertTrue(drawerPane.getLayoutModel().isOpen(node));
+         }
+      });
+   }
+
+   @Test
+   public void addNewDrawerTakesEditorState() throws Throwable {
+      runOnFxThread(() -> {
+         final DrawerPane drawerPane = new DrawerPane();
+         final DrawerNode node = new DrawerNode(new Label("Contents"), "Drawer");
+         node.setVisible(true);
+
+         drawerPane.batch(editor -> editor.add(Position.Right, node));
+
+         assertEquals(Optional.of(Position.Right), drawerPane.getPosition(node));
+         assertFalse(node.isVisible());
+         assertFalse(drawerPane.getLayoutModel().isOpen(node));
+      });
+   }
+
+   /**
+    * Run the passed in {@link Runnable} on the JavaFx application thread,
+    * and wait for it to complete. Rethrows any failure.
+    */
+   private static void runOnFxThread(final Runnable runnable) throws Throwable {
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      final CountDownLatch latch = new CountDownLatch(1);
+      Platform.runLater(() -> {
+         try {
+            runnable.run();
+         } catch (Throwable ex) {
+            error.set(ex);
+         } finally {
+            latch.countDown();
+         }
+      });
+      latch.await();
+
+      if (error.get() != null) {
+         throw error.get();
+      }
+   }
+}